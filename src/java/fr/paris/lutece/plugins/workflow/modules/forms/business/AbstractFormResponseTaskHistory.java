@@ -42,6 +42,7 @@ public abstract class AbstractFormResponseTaskHistory
     private Question _question;
     private int _nIdTask;
     private String _strNewValue;
+    private int _nNewValueLength;
 
     /**
      * @return the idHistory
@@ -110,4 +111,21 @@ public abstract class AbstractFormResponseTaskHistory
     {
         _strNewValue = newValue;
     }
+
+    /**
+     * @return the length of the newValue, when the history is loaded as a summary
+     */
+    public int getNewValueLength( )
+    {
+        return _nNewValueLength;
+    }
+
+    /**
+     * @param newValueLength
+     *            the length of the newValue to set
+     */
+    public void setNewValueLength( int newValueLength )
+    {
+        _nNewValueLength = newValueLength;
+    }
 }
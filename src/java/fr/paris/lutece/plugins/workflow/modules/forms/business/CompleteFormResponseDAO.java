@@ -41,6 +41,7 @@ import java.sql.Timestamp;
 import java.sql.Types;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.stream.Collectors;
 
 /**
  *
@@ -53,17 +54,32 @@ public class CompleteFormResponseDAO implements ICompleteFormResponseDAO
             + " FROM workflow_task_complete_response ";
     private static final String SQL_QUERY_SELECT = SQL_QUERY_SELECT_ALL + " WHERE id_history = ? AND id_task = ? ";
     private static final String SQL_QUERY_SELECT_BY_ID_TASK = SQL_QUERY_SELECT_ALL + " WHERE id_task = ? ";
+    private static final String SQL_QUERY_SELECT_ID_HISTORY_BY_ID_TASK = " SELECT id_history FROM workflow_task_complete_response WHERE id_task = ? AND id_history > ? ORDER BY id_history LIMIT ? ";
     private static final String SQL_QUERY_INSERT = " INSERT INTO workflow_task_complete_response ( id_history, id_task, message, is_complete, date_completed ) "
             + " VALUES ( ?,?,?,?,? ) ";
     private static final String SQL_QUERY_DELETE_BY_ID_HISTORY = " DELETE FROM workflow_task_complete_response WHERE id_history = ? AND id_task = ? ";
     private static final String SQL_QUERY_DELETE_BY_TASK = " DELETE FROM workflow_task_complete_response WHERE id_task = ? ";
+    private static final String SQL_QUERY_DELETE_BY_ID_HISTORY_LIST = " DELETE FROM workflow_task_complete_response WHERE id_task = ? AND id_history IN ";
     private static final String SQL_QUERY_UPDATE = " UPDATE workflow_task_complete_response SET message = ?, is_complete = ?, date_completed = ? WHERE id_history = ? AND id_task = ? ";
 
     /**
      * {@inheritDoc}
      */
     @Override
-    public synchronized void insert( CompleteFormResponse completeFormResponse, Plugin plugin )
+    public void insert( CompleteFormResponse completeFormResponse, Plugin plugin )
+    {
+        UpsertUtils.insertOrUpdate( plugin, ( ) -> insertRow( completeFormResponse, plugin ), ( ) -> store( completeFormResponse, plugin ) );
+    }
+
+    /**
+     * Insert a new record
+     * 
+     * @param completeFormResponse
+     *            the CompleteFormResponse object
+     * @param plugin
+     *            the plugin
+     */
+    private void insertRow( CompleteFormResponse completeFormResponse, Plugin plugin )
     {
         int nIndex = 1;
 
@@ -163,6 +179,31 @@ public class CompleteFormResponseDAO implements ICompleteFormResponseDAO
         return listCompleteFormResponses;
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<Integer> loadIdHistoryByIdTask( int nIdTask, int nIdHistoryAfter, int nLimit, Plugin plugin )
+    {
+        List<Integer> listIdHistory = new ArrayList<>( );
+
+        try ( DAOUtil daoUtil = new DAOUtil( SQL_QUERY_SELECT_ID_HISTORY_BY_ID_TASK, plugin ) )
+        {
+            int nIndex = 1;
+            daoUtil.setInt( nIndex++, nIdTask );
+            daoUtil.setInt( nIndex++, nIdHistoryAfter );
+            daoUtil.setInt( nIndex++, nLimit );
+
+            daoUtil.executeQuery( );
+
+            while ( daoUtil.next( ) )
+            {
+                listIdHistory.add( daoUtil.getInt( 1 ) );
+            }
+        }
+        return listIdHistory;
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -179,6 +220,32 @@ public class CompleteFormResponseDAO implements ICompleteFormResponseDAO
         }
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void deleteByIdHistoryList( int nIdTask, List<Integer> listIdHistory, Plugin plugin )
+    {
+        if ( listIdHistory == null || listIdHistory.isEmpty( ) )
+        {
+            return;
+        }
+
+        String strQuery = SQL_QUERY_DELETE_BY_ID_HISTORY_LIST + listIdHistory.stream( ).map( nIdHistory -> "?" ).collect( Collectors.joining( ",", "( ", " )" ) );
+
+        try ( DAOUtil daoUtil = new DAOUtil( strQuery, plugin ) )
+        {
+            int nIndex = 1;
+            daoUtil.setInt( nIndex++, nIdTask );
+            for ( Integer nIdHistory : listIdHistory )
+            {
+                daoUtil.setInt( nIndex++, nIdHistory );
+            }
+
+            daoUtil.executeUpdate( );
+        }
+    }
+
     /**
      * {@inheritDoc}
      */
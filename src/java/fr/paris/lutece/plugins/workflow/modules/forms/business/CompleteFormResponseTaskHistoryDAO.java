@@ -33,9 +33,9 @@
  */
 package fr.paris.lutece.plugins.workflow.modules.forms.business;
 
-import java.sql.Statement;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Consumer;
 
 import fr.paris.lutece.plugins.forms.business.Question;
 import fr.paris.lutece.plugins.workflow.utils.WorkflowUtils;
@@ -44,28 +44,31 @@ import fr.paris.lutece.util.sql.DAOUtil;
 public class CompleteFormResponseTaskHistoryDAO implements ICompleteFormResponseTaskHistoryDAO
 {
     private static final String SQL_QUERY_SELECT = "SELECT id_history, id_task, id_question, iteration_number, new_value FROM workflow_task_complete_response_history ";
-    private static final String SQL_QUERY_INSERT = "INSERT INTO  workflow_task_complete_response_history "
-            + "(id_history, id_task, id_question, iteration_number, new_value) VALUES (?,?,?,?,?)";
     private static final String SQL_FILTER_IDHISTORY_IDTASK = SQL_QUERY_SELECT + "WHERE id_history = ? AND id_task = ?";
+    private static final String SQL_QUERY_SELECT_SUMMARY = "SELECT id_history, id_task, id_question, iteration_number, CASE WHEN new_value_length <= ? THEN new_value END, "
+            + "new_value_length "
+            + "FROM workflow_task_complete_response_history WHERE id_history = ? AND id_task = ?";
+    private static final String SQL_FILTER_PRIMARY_KEY = SQL_QUERY_SELECT + "WHERE id_history = ? AND id_task = ? AND id_question = ? AND iteration_number = ?";
     private static final String SQL_QUERY_DELETE = "DELETE FROM workflow_task_complete_response_history WHERE id_history = ? AND id_task = ? ";
 
+    private final TaskHistoryWriter<CompleteFormResponseTaskHistory> _writer = new TaskHistoryWriter<>( "workflow_task_complete_response_history", null );
+
     /**
      * {@inheritDoc}
      */
     @Override
-    public synchronized void insert( CompleteFormResponseTaskHistory completeFormResponseTaskHistory )
+    public void insert( CompleteFormResponseTaskHistory completeFormResponseTaskHistory )
     {
-        try ( DAOUtil daoUtil = new DAOUtil( SQL_QUERY_INSERT, Statement.RETURN_GENERATED_KEYS, WorkflowUtils.getPlugin( ) ) )
-        {
-            int nPos = 0;
-            daoUtil.setInt( ++nPos, completeFormResponseTaskHistory.getIdHistory( ) );
-            daoUtil.setInt( ++nPos, completeFormResponseTaskHistory.getIdTask( ) );
-            daoUtil.setInt( ++nPos, completeFormResponseTaskHistory.getQuestion( ).getId( ) );
-            daoUtil.setInt( ++nPos, completeFormResponseTaskHistory.getQuestion( ).getIterationNumber( ) );
-            daoUtil.setString( ++nPos, completeFormResponseTaskHistory.getNewValue( ) );
+        _writer.insert( completeFormResponseTaskHistory );
+    }
 
-            daoUtil.executeUpdate( );
-        }
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void insertAll( List<CompleteFormResponseTaskHistory> listCompleteFormResponseTaskHistory )
+    {
+        _writer.insertAll( listCompleteFormResponseTaskHistory );
     }
 
     @Override
@@ -104,11 +107,81 @@ public class CompleteFormResponseTaskHistoryDAO implements ICompleteFormResponse
         question.setId( daoUtil.getInt( ++nIndex ) );
         question.setIterationNumber( daoUtil.getInt( ++nIndex ) );
         completeFormResponseTaskHistory.setQuestion( question );
-        completeFormResponseTaskHistory.setNewValue( daoUtil.getString( ++nIndex ) );
+        completeFormResponseTaskHistory.setNewValue( HistoryValueCodec.decode( daoUtil.getString( ++nIndex ) ) );
 
         return completeFormResponseTaskHistory;
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<CompleteFormResponseTaskHistory> selectSummaryByIdHistoryAndIdTask( int nIdHistory, int nIdTask, int nMaxValueLength )
+    {
+        List<CompleteFormResponseTaskHistory> listResult = new ArrayList<>( );
+        try ( DAOUtil daoUtil = new DAOUtil( SQL_QUERY_SELECT_SUMMARY, WorkflowUtils.getPlugin( ) ) )
+        {
+            int nIndex = 0;
+            daoUtil.setInt( ++nIndex, nMaxValueLength );
+            daoUtil.setInt( ++nIndex, nIdHistory );
+            daoUtil.setInt( ++nIndex, nIdTask );
+            daoUtil.executeQuery( );
+
+            while ( daoUtil.next( ) )
+            {
+                listResult.add( getCompleteFormResponseTaskHistorySummaryValues( daoUtil ) );
+            }
+        }
+        return listResult;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public CompleteFormResponseTaskHistory selectByPrimaryKey( int nIdHistory, int nIdTask, int nIdQuestion, int nIterationNumber )
+    {
+        CompleteFormResponseTaskHistory taskHistory = null;
+        try ( DAOUtil daoUtil = new DAOUtil( SQL_FILTER_PRIMARY_KEY, WorkflowUtils.getPlugin( ) ) )
+        {
+            int nIndex = 0;
+            daoUtil.setInt( ++nIndex, nIdHistory );
+            daoUtil.setInt( ++nIndex, nIdTask );
+            daoUtil.setInt( ++nIndex, nIdQuestion );
+            daoUtil.setInt( ++nIndex, nIterationNumber );
+            daoUtil.executeQuery( );
+
+            if ( daoUtil.next( ) )
+            {
+                taskHistory = getCompleteFormResponseTaskHistoryValues( daoUtil );
+            }
+        }
+        return taskHistory;
+    }
+
+    /**
+     * set a CompleteFormResponseTaskHistory with database value, and the length of its values
+     * 
+     * @param daoUtil
+     * @return a CompleteFormResponseTaskHistory setted
+     */
+    private CompleteFormResponseTaskHistory getCompleteFormResponseTaskHistorySummaryValues( DAOUtil daoUtil )
+    {
+        CompleteFormResponseTaskHistory taskHistory = getCompleteFormResponseTaskHistoryValues( daoUtil );
+        taskHistory.setNewValueLength( daoUtil.getInt( 6 ) );
+
+        return taskHistory;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void selectByIdTask( int nIdTask, int nIdQuestion, int nIdHistoryAfter, Consumer<CompleteFormResponseTaskHistory> consumer )
+    {
+        TaskHistoryKeysetReader.read( SQL_QUERY_SELECT, nIdTask, nIdQuestion, nIdHistoryAfter, this::getCompleteFormResponseTaskHistoryValues, consumer );
+    }
+
     @Override
     public void deleteByIdHistoryAndTask( int nIdHistory, int nIdTask )
     {
@@ -33,9 +33,9 @@
  */
 package fr.paris.lutece.plugins.workflow.modules.forms.business;
 
-import java.sql.Statement;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Consumer;
 
 import fr.paris.lutece.plugins.forms.business.Question;
 import fr.paris.lutece.plugins.workflow.utils.WorkflowUtils;
@@ -44,29 +44,31 @@ import fr.paris.lutece.util.sql.DAOUtil;
 public class EditFormResponseTaskHistoryDAO implements IEditFormResponseTaskHistoryDAO
 {
     private static final String SQL_QUERY_SELECT = "SELECT id_history, id_task, id_question, iteration_number, previous_value, new_value FROM workflow_task_forms_editresponse_history ";
-    private static final String SQL_QUERY_INSERT = "INSERT INTO  workflow_task_forms_editresponse_history "
-            + "(id_history, id_task, id_question, iteration_number, previous_value, new_value)VALUES(?,?,?,?,?,?)";
     private static final String SQL_FILTER_IDHISTORY_IDTASK = SQL_QUERY_SELECT + "WHERE id_history = ? AND id_task = ?";
+    private static final String SQL_QUERY_SELECT_SUMMARY = "SELECT id_history, id_task, id_question, iteration_number, CASE WHEN previous_value_length <= ? THEN previous_value END, "
+            + "CASE WHEN new_value_length <= ? THEN new_value END, previous_value_length, new_value_length "
+            + "FROM workflow_task_forms_editresponse_history WHERE id_history = ? AND id_task = ?";
+    private static final String SQL_FILTER_PRIMARY_KEY = SQL_QUERY_SELECT + "WHERE id_history = ? AND id_task = ? AND id_question = ? AND iteration_number = ?";
     private static final String SQL_QUERY_DELETE = "DELETE FROM workflow_task_forms_editresponse_history WHERE id_history = ? AND id_task = ? ";
 
+    private final TaskHistoryWriter<EditFormResponseTaskHistory> _writer = new TaskHistoryWriter<>( "workflow_task_forms_editresponse_history", EditFormResponseTaskHistory::getPreviousValue );
+
     /**
      * {@inheritDoc}
      */
     @Override
-    public synchronized void insert( EditFormResponseTaskHistory editFormResponseTaskHistory )
+    public void insert( EditFormResponseTaskHistory editFormResponseTaskHistory )
     {
-        try ( DAOUtil daoUtil = new DAOUtil( SQL_QUERY_INSERT, Statement.RETURN_GENERATED_KEYS, WorkflowUtils.getPlugin( ) ) )
-        {
-            int nPos = 0;
-            daoUtil.setInt( ++nPos, editFormResponseTaskHistory.getIdHistory( ) );
-            daoUtil.setInt( ++nPos, editFormResponseTaskHistory.getIdTask( ) );
-            daoUtil.setInt( ++nPos, editFormResponseTaskHistory.getQuestion( ).getId( ) );
-            daoUtil.setInt( ++nPos, editFormResponseTaskHistory.getQuestion( ).getIterationNumber( ) );
-            daoUtil.setString( ++nPos, editFormResponseTaskHistory.getPreviousValue( ) );
-            daoUtil.setString( ++nPos, editFormResponseTaskHistory.getNewValue( ) );
+        _writer.insert( editFormResponseTaskHistory );
+    }
 
-            daoUtil.executeUpdate( );
-        }
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void insertAll( List<EditFormResponseTaskHistory> listEditFormResponseTaskHistory )
+    {
+        _writer.insertAll( listEditFormResponseTaskHistory );
     }
 
     @Override
@@ -105,12 +107,85 @@ public class EditFormResponseTaskHistoryDAO implements IEditFormResponseTaskHist
         question.setId( daoUtil.getInt( ++nIndex ) );
         question.setIterationNumber( daoUtil.getInt( ++nIndex ) );
         editFormResponseTaskHistory.setQuestion( question );
-        editFormResponseTaskHistory.setPreviousValue( daoUtil.getString( ++nIndex ) );
-        editFormResponseTaskHistory.setNewValue( daoUtil.getString( ++nIndex ) );
+        editFormResponseTaskHistory.setPreviousValue( HistoryValueCodec.decode( daoUtil.getString( ++nIndex ) ) );
+        editFormResponseTaskHistory.setNewValue( HistoryValueCodec.decode( daoUtil.getString( ++nIndex ) ) );
 
         return editFormResponseTaskHistory;
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<EditFormResponseTaskHistory> selectSummaryByIdHistoryAndIdTask( int nIdHistory, int nIdTask, int nMaxValueLength )
+    {
+        List<EditFormResponseTaskHistory> listResult = new ArrayList<>( );
+        try ( DAOUtil daoUtil = new DAOUtil( SQL_QUERY_SELECT_SUMMARY, WorkflowUtils.getPlugin( ) ) )
+        {
+            int nIndex = 0;
+            daoUtil.setInt( ++nIndex, nMaxValueLength );
+            daoUtil.setInt( ++nIndex, nMaxValueLength );
+            daoUtil.setInt( ++nIndex, nIdHistory );
+            daoUtil.setInt( ++nIndex, nIdTask );
+            daoUtil.executeQuery( );
+
+            while ( daoUtil.next( ) )
+            {
+                listResult.add( getEditFormResponseTaskHistorySummaryValues( daoUtil ) );
+            }
+        }
+        return listResult;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public EditFormResponseTaskHistory selectByPrimaryKey( int nIdHistory, int nIdTask, int nIdQuestion, int nIterationNumber )
+    {
+        EditFormResponseTaskHistory taskHistory = null;
+        try ( DAOUtil daoUtil = new DAOUtil( SQL_FILTER_PRIMARY_KEY, WorkflowUtils.getPlugin( ) ) )
+        {
+            int nIndex = 0;
+            daoUtil.setInt( ++nIndex, nIdHistory );
+            daoUtil.setInt( ++nIndex, nIdTask );
+            daoUtil.setInt( ++nIndex, nIdQuestion );
+            daoUtil.setInt( ++nIndex, nIterationNumber );
+            daoUtil.executeQuery( );
+
+            if ( daoUtil.next( ) )
+            {
+                taskHistory = getEditFormResponseTaskHistoryValues( daoUtil );
+            }
+        }
+        return taskHistory;
+    }
+
+    /**
+     * set a EditFormResponseTaskHistory with database value, and the length of its values
+     * 
+     * @param daoUtil
+     * @return a EditFormResponseTaskHistory setted
+     */
+    private EditFormResponseTaskHistory getEditFormResponseTaskHistorySummaryValues( DAOUtil daoUtil )
+    {
+        EditFormResponseTaskHistory taskHistory = getEditFormResponseTaskHistoryValues( daoUtil );
+        int nIndex = 6;
+        taskHistory.setPreviousValueLength( daoUtil.getInt( ++nIndex ) );
+        taskHistory.setNewValueLength( daoUtil.getInt( ++nIndex ) );
+
+        return taskHistory;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void selectByIdTask( int nIdTask, int nIdQuestion, int nIdHistoryAfter, Consumer<EditFormResponseTaskHistory> consumer )
+    {
+        TaskHistoryKeysetReader.read( SQL_QUERY_SELECT, nIdTask, nIdQuestion, nIdHistoryAfter, this::getEditFormResponseTaskHistoryValues, consumer );
+    }
+
     @Override
     public void deleteByIdHistoryAndTask( int nIdHistory, int nIdTask )
     {
@@ -36,6 +36,7 @@ package fr.paris.lutece.plugins.workflow.modules.forms.business;
 import java.sql.Statement;
 
 import fr.paris.lutece.plugins.forms.business.FormHome;
+import fr.paris.lutece.plugins.forms.business.Question;
 import fr.paris.lutece.plugins.forms.business.QuestionHome;
 import fr.paris.lutece.plugins.forms.business.StepHome;
 import fr.paris.lutece.portal.service.plugin.Plugin;
@@ -45,6 +46,7 @@ public class FormResponseValueStateControllerConfigDao implements IFormResponseV
 {
     private static final String SQL_QUERY_SELECT_ALL = "SELECT id, id_task, id_form, id_step, id_question, response_value FROM workflow_state_controller_form_response_value ";
     private static final String SQL_QUERY_SELECT_BY_TASK = SQL_QUERY_SELECT_ALL + " WHERE id_task = ? ";
+    private static final String SQL_QUERY_SELECT_WITHOUT_REFERENCES_BY_TASK = "SELECT id, id_task, id_question, response_value FROM workflow_state_controller_form_response_value WHERE id_task = ? ";
     private static final String SQL_QUERY_INSERT = "INSERT INTO workflow_state_controller_form_response_value ( id_task, id_form, id_step, id_question, response_value ) VALUES ( ?, ?, ?, ?, ? )";
     private static final String SQL_QUERY_UPDATE = "UPDATE workflow_state_controller_form_response_value SET id_task = ?, id_form = ?, id_step = ?, id_question = ?, response_value = ? WHERE id = ? ";
     private static final String SQL_QUERY_DELETE_BY_TASK = "DELETE FROM workflow_state_controller_form_response_value WHERE id_task = ? ";
@@ -83,6 +85,11 @@ public class FormResponseValueStateControllerConfigDao implements IFormResponseV
             daoUtil.setString( ++index, config.getValue( ) );
 
             daoUtil.executeUpdate( );
+
+            if ( daoUtil.nextGeneratedKey( ) )
+            {
+                config.setId( daoUtil.getGeneratedKeyInt( 1 ) );
+            }
         }
     }
 
@@ -142,6 +149,35 @@ public class FormResponseValueStateControllerConfigDao implements IFormResponseV
         return config;
     }
 
+    @Override
+    public FormResponseValueStateControllerConfig loadWithoutReferencesByIdTask( int nIdTask, Plugin plugin )
+    {
+        FormResponseValueStateControllerConfig config = null;
+        try ( DAOUtil daoUtil = new DAOUtil( SQL_QUERY_SELECT_WITHOUT_REFERENCES_BY_TASK, plugin ) )
+        {
+            daoUtil.setInt( 1, nIdTask );
+            daoUtil.executeQuery( );
+
+            if ( daoUtil.next( ) )
+            {
+                int index = 0;
+                config = new FormResponseValueStateControllerConfig( );
+                config.setId( daoUtil.getInt( ++index ) );
+                config.setIdTask( daoUtil.getInt( ++index ) );
+
+                int nIdQuestion = daoUtil.getInt( ++index );
+                if ( nIdQuestion != -1 )
+                {
+                    Question question = new Question( );
+                    question.setId( nIdQuestion );
+                    config.setQuestion( question );
+                }
+                config.setValue( daoUtil.getString( ++index ) );
+            }
+        }
+        return config;
+    }
+
     @Override
     public void deleteByIdTask( int nIdTask, Plugin plugin )
     {
@@ -90,4 +90,15 @@ public class FormResponseValueStateControllerConfigHome
     {
         return _dao.loadByIdTask( nIdTask, _plugin );
     }
+
+    /**
+     * Load the data from the table, without loading the form, the step and the question of the config. Only the id of the question is set.
+     * 
+     * @param nIdTask
+     * @return the config, or null if the task has no config
+     */
+    public static FormResponseValueStateControllerConfig findWithoutReferencesByTask( int nIdTask )
+    {
+        return _dao.loadWithoutReferencesByIdTask( nIdTask, _plugin );
+    }
 }
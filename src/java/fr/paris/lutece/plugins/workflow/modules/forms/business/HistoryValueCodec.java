@@ -0,0 +1,200 @@
+/*
+ * Copyright (c) 2002-2021, City of Paris
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ *  1. Redistributions of source code must retain the above copyright notice
+ *     and the following disclaimer.
+ *
+ *  2. Redistributions in binary form must reproduce the above copyright notice
+ *     and the following disclaimer in the documentation and/or other materials
+ *     provided with the distribution.
+ *
+ *  3. Neither the name of 'Mairie de Paris' nor 'Lutece' nor the names of its
+ *     contributors may be used to endorse or promote products derived from
+ *     this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ *
+ * License 1.0
+ */
+package fr.paris.lutece.plugins.workflow.modules.forms.business;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import fr.paris.lutece.portal.service.util.AppException;
+import fr.paris.lutece.portal.service.util.AppPropertiesService;
+
+/**
+ * Codec of the previous and new values stored in the task history tables.
+ * <p>
+ * When the compression is enabled, the values longer than the threshold are stored gzipped and Base64 encoded, behind a prefix. The values which would
+ * be mistaken for an encoded value are escaped, whatever the configuration, so that the stored values can always be decoded, even after the compression
+ * has been disabled. The values stored before the codec was introduced are escaped the same way by the 2.2.0-2.2.1 upgrade script.
+ * </p>
+ */
+final class HistoryValueCodec
+{
+    private static final String PROPERTY_COMPRESSION_ENABLED = "workflow-forms.history.value.compression.enabled";
+    private static final String PROPERTY_COMPRESSION_THRESHOLD = "workflow-forms.history.value.compression.threshold";
+    private static final int DEFAULT_COMPRESSION_THRESHOLD = 2048;
+
+    private static final String PREFIX_GZIP = "{gz}";
+    private static final String PREFIX_RAW = "{raw}";
+
+    /**
+     * Private constructor
+     */
+    private HistoryValueCodec( )
+    {
+    }
+
+    /**
+     * Encode a value before storing it
+     * 
+     * @param strValue
+     *            the value
+     * @return the value to store
+     */
+    static String encode( String strValue )
+    {
+        return encode( strValue, AppPropertiesService.getPropertyBoolean( PROPERTY_COMPRESSION_ENABLED, false ),
+                AppPropertiesService.getPropertyInt( PROPERTY_COMPRESSION_THRESHOLD, DEFAULT_COMPRESSION_THRESHOLD ) );
+    }
+
+    /**
+     * Encode a value before storing it, with the given compression settings
+     * 
+     * @param strValue
+     *            the value
+     * @param bCompressionEnabled
+     *            true if the long values must be compressed
+     * @param nThreshold
+     *            the minimal length of a compressed value
+     * @return the value to store
+     */
+    static String encode( String strValue, boolean bCompressionEnabled, int nThreshold )
+    {
+        if ( strValue == null )
+        {
+            return null;
+        }
+
+        if ( bCompressionEnabled && strValue.length( ) >= nThreshold )
+        {
+            String strCompressed = PREFIX_GZIP + Base64.getEncoder( ).encodeToString( compress( strValue ) );
+
+            if ( strCompressed.length( ) < strValue.length( ) )
+            {
+                return strCompressed;
+            }
+        }
+
+        if ( strValue.startsWith( PREFIX_GZIP ) || strValue.startsWith( PREFIX_RAW ) )
+        {
+            return PREFIX_RAW + strValue;
+        }
+
+        return strValue;
+    }
+
+    /**
+     * Decode a stored value
+     * 
+     * @param strStoredValue
+     *            the stored value
+     * @return the value
+     */
+    static String decode( String strStoredValue )
+    {
+        if ( strStoredValue == null )
+        {
+            return null;
+        }
+
+        if ( strStoredValue.startsWith( PREFIX_GZIP ) )
+        {
+            return decompress( Base64.getDecoder( ).decode( strStoredValue.substring( PREFIX_GZIP.length( ) ) ) );
+        }
+
+        if ( strStoredValue.startsWith( PREFIX_RAW ) )
+        {
+            return strStoredValue.substring( PREFIX_RAW.length( ) );
+        }
+
+        return strStoredValue;
+    }
+
+    /**
+     * Gzip a value
+     * 
+     * @param strValue
+     *            the value
+     * @return the compressed bytes
+     */
+    private static byte [ ] compress( String strValue )
+    {
+        ByteArrayOutputStream out = new ByteArrayOutputStream( );
+
+        try ( OutputStream gzip = new GZIPOutputStream( out ) )
+        {
+            gzip.write( strValue.getBytes( StandardCharsets.UTF_8 ) );
+        }
+        catch( IOException e )
+        {
+            throw new AppException( "Unable to compress a history value", e );
+        }
+
+        return out.toByteArray( );
+    }
+
+    /**
+     * Gunzip a value
+     * 
+     * @param compressed
+     *            the compressed bytes
+     * @return the value
+     */
+    private static String decompress( byte [ ] compressed )
+    {
+        ByteArrayOutputStream out = new ByteArrayOutputStream( );
+
+        try ( InputStream gzip = new GZIPInputStream( new ByteArrayInputStream( compressed ) ) )
+        {
+            byte [ ] buffer = new byte [ 4096];
+            int nRead;
+
+            while ( ( nRead = gzip.read( buffer ) ) != -1 )
+            {
+                out.write( buffer, 0, nRead );
+            }
+        }
+        catch( IOException e )
+        {
+            throw new AppException( "Unable to decompress a history value", e );
+        }
+
+        return new String( out.toByteArray( ), StandardCharsets.UTF_8 );
+    }
+}
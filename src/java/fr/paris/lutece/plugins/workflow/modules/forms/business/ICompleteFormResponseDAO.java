@@ -88,6 +88,21 @@ public interface ICompleteFormResponseDAO
      */
     List<CompleteFormResponse> loadByIdTask( int nIdTask, Plugin plugin );
 
+    /**
+     * Load the ids of history of the CompleteFormResponse of a task, by ascending order, starting after the specified id of history
+     * 
+     * @param nIdTask
+     *            the id task
+     * @param nIdHistoryAfter
+     *            the id history after which the ids are loaded
+     * @param nLimit
+     *            the maximum number of ids to load
+     * @param plugin
+     *            the plugin
+     * @return a list of id history
+     */
+    List<Integer> loadIdHistoryByIdTask( int nIdTask, int nIdHistoryAfter, int nLimit, Plugin plugin );
+
     /**
      * Remove CompleteFormResponse by id history
      * 
@@ -100,6 +115,18 @@ public interface ICompleteFormResponseDAO
      */
     void deleteByIdHistory( int nIdHistory, int nIdTask, Plugin plugin );
 
+    /**
+     * Remove the CompleteFormResponse of a task having the specified ids history
+     * 
+     * @param nIdTask
+     *            the task id
+     * @param listIdHistory
+     *            the ids history
+     * @param plugin
+     *            the plugin
+     */
+    void deleteByIdHistoryList( int nIdTask, List<Integer> listIdHistory, Plugin plugin );
+
     /**
      * Remove CompleteFormResponse by id task
      * 
@@ -35,17 +35,9 @@ package fr.paris.lutece.plugins.workflow.modules.forms.business;
 
 import java.util.List;
 
-public interface ICompleteFormResponseTaskHistoryDAO
+public interface ICompleteFormResponseTaskHistoryDAO extends IFormResponseTaskHistoryDAO<CompleteFormResponseTaskHistory>
 {
 
-    /**
-     * insert an completeFormResponseTaskHistory
-     * 
-     * @param completeFormResponseTaskHistory
-     *            to insert
-     */
-    void insert( CompleteFormResponseTaskHistory completeFormResponseTaskHistory );
-
     /**
      * select some completeFormResponseTaskHistory with an idHistory and an idTask
      * 
@@ -54,6 +54,30 @@ public interface ICompleteFormResponseValueDAO
      */
     void insert( CompleteFormResponseValue completeFormResponseValue, Plugin plugin );
 
+    /**
+     * Insert the records of a history in a single batch
+     * 
+     * @param nIdHistory
+     *            the id history
+     * @param listCompleteFormResponseValues
+     *            the list of CompleteFormResponseValue to insert
+     * @param plugin
+     *            the plugin
+     */
+    void insertAll( int nIdHistory, List<CompleteFormResponseValue> listCompleteFormResponseValues, Plugin plugin );
+
+    /**
+     * Remove the records of a history having the specified entries, in a single batch
+     * 
+     * @param nIdHistory
+     *            the id history
+     * @param listIdEntry
+     *            the list of id entry to remove
+     * @param plugin
+     *            the plugin
+     */
+    void deleteAll( int nIdHistory, List<Integer> listIdEntry, Plugin plugin );
+
     /**
      * Load a CompleteFormResponseValue by id edit record
      * 
@@ -74,4 +98,14 @@ public interface ICompleteFormResponseValueDAO
      *            the plugin
      */
     void delete( int nIdHistory, Plugin plugin );
+
+    /**
+     * Remove the records of several histories
+     * 
+     * @param listIdHistory
+     *            the list of id history
+     * @param plugin
+     *            the plugin
+     */
+    void deleteByIdHistoryList( List<Integer> listIdHistory, Plugin plugin );
 }
@@ -35,17 +35,9 @@ package fr.paris.lutece.plugins.workflow.modules.forms.business;
 
 import java.util.List;
 
-public interface IEditFormResponseTaskHistoryDAO
+public interface IEditFormResponseTaskHistoryDAO extends IFormResponseTaskHistoryDAO<EditFormResponseTaskHistory>
 {
 
-    /**
-     * insert an EditFormResponseHistory with a editFormResponseHistory
-     * 
-     * @param editFormResponseTaskHistory
-     *            to insert
-     */
-    void insert( EditFormResponseTaskHistory editFormResponseTaskHistory );
-
     /**
      * select some EditFormResponseHistory with an idHistory and an idTask
      * 
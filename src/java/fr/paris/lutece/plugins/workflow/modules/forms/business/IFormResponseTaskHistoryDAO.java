@@ -0,0 +1,106 @@
+/*
+ * Copyright (c) 2002-2021, City of Paris
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ *  1. Redistributions of source code must retain the above copyright notice
+ *     and the following disclaimer.
+ *
+ *  2. Redistributions in binary form must reproduce the above copyright notice
+ *     and the following disclaimer in the documentation and/or other materials
+ *     provided with the distribution.
+ *
+ *  3. Neither the name of 'Mairie de Paris' nor 'Lutece' nor the names of its
+ *     contributors may be used to endorse or promote products derived from
+ *     this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ *
+ * License 1.0
+ */
+package fr.paris.lutece.plugins.workflow.modules.forms.business;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Common operations of the task history DAOs
+ * 
+ * @param <H>
+ *            the type of task history
+ */
+public interface IFormResponseTaskHistoryDAO<H extends AbstractFormResponseTaskHistory>
+{
+    /**
+     * insert a task history
+     * 
+     * @param taskHistory
+     *            to insert
+     */
+    void insert( H taskHistory );
+
+    /**
+     * insert several task histories in a single batch
+     * 
+     * @param listTaskHistory
+     *            the task histories to insert
+     */
+    void insertAll( List<H> listTaskHistory );
+
+    /**
+     * Read the task histories of a task, ordered by id history, without loading them all in memory. The records are read by pages, using the id history as
+     * key, so that an export can be resumed after the last id history it has consumed.
+     * 
+     * @param nIdTask
+     *            the id of the task
+     * @param nIdQuestion
+     *            the id of the question, or a negative or zero value for all the questions
+     * @param nIdHistoryAfter
+     *            the id of history after which the records are read
+     * @param consumer
+     *            the consumer of the task histories
+     */
+    void selectByIdTask( int nIdTask, int nIdQuestion, int nIdHistoryAfter, Consumer<H> consumer );
+
+    /**
+     * Select the task histories of a history and a task without the values longer than a maximum length. The length of the values is set instead,
+     * so that a value which is not read can be fetched on demand.
+     * 
+     * @param nIdHistory
+     *            the id of the history
+     * @param nIdTask
+     *            the id of the task
+     * @param nMaxValueLength
+     *            the maximum length of the values which are read
+     * @return the task histories
+     */
+    List<H> selectSummaryByIdHistoryAndIdTask( int nIdHistory, int nIdTask, int nMaxValueLength );
+
+    /**
+     * Select the task history of a question, with its values
+     * 
+     * @param nIdHistory
+     *            the id of the history
+     * @param nIdTask
+     *            the id of the task
+     * @param nIdQuestion
+     *            the id of the question
+     * @param nIterationNumber
+     *            the iteration number of the question
+     * @return the task history, or null if it does not exist
+     */
+    H selectByPrimaryKey( int nIdHistory, int nIdTask, int nIdQuestion, int nIterationNumber );
+}
@@ -68,6 +68,17 @@ public interface IFormResponseValueStateControllerConfigDao
      */
     FormResponseValueStateControllerConfig loadByIdTask( int nIdTask, Plugin plugin );
 
+    /**
+     * Load a FormResponseValueStateControllerConfig by id task, without loading its form, step and question. Only the id of the question is set.
+     * 
+     * @param nIdTask
+     *            the id task
+     * @param plugin
+     *            the plugin
+     * @return a FormResponseValueStateControllerConfig
+     */
+    FormResponseValueStateControllerConfig loadWithoutReferencesByIdTask( int nIdTask, Plugin plugin );
+
     /**
      * Remove FormResponseValueStateControllerConfig by id task
      * 
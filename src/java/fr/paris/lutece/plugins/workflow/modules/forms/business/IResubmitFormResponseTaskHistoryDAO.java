@@ -35,17 +35,9 @@ package fr.paris.lutece.plugins.workflow.modules.forms.business;
 
 import java.util.List;
 
-public interface IResubmitFormResponseTaskHistoryDAO
+public interface IResubmitFormResponseTaskHistoryDAO extends IFormResponseTaskHistoryDAO<ResubmitFormResponseTaskHistory>
 {
 
-    /**
-     * insert an ResubmitFormResponseTaskHistory
-     * 
-     * @param resubmitFormResponseTaskHistory
-     *            to insert
-     */
-    void insert( ResubmitFormResponseTaskHistory resubmitFormResponseTaskHistory );
-
     /**
      * select some ResubmitFormResponseTaskHistory with an idHistory and an idTask
      * 
@@ -33,6 +33,9 @@
  */
 package fr.paris.lutece.plugins.workflow.modules.forms.business;
 
+import fr.paris.lutece.plugins.workflow.modules.forms.service.cache.ActionTaskIndexCacheService;
+import fr.paris.lutece.plugins.workflow.modules.forms.service.cache.TaskConfigCacheService;
+import fr.paris.lutece.plugins.workflow.modules.forms.service.cache.TaskInformationCacheService;
 import fr.paris.lutece.plugins.workflow.utils.WorkflowUtils;
 import fr.paris.lutece.plugins.workflowcore.business.config.ITaskConfigDAO;
 import fr.paris.lutece.util.sql.DAOUtil;
@@ -44,6 +47,8 @@ import fr.paris.lutece.util.sql.DAOUtil;
  */
 public class ResubmitFormResponseTaskConfigDAO implements ITaskConfigDAO<ResubmitFormResponseTaskConfig>
 {
+    private static final String CACHE_CONFIG_TYPE = "resubmit";
+
     private static final String SQL_QUERY_FIND_BY_PRIMARY_KEY = " SELECT id_task, id_state_after_edition, default_message FROM workflow_task_resubmit_response_cf "
             + " WHERE id_task = ? ";
     private static final String SQL_QUERY_INSERT = " INSERT INTO workflow_task_resubmit_response_cf ( id_task, id_state_after_edition, default_message ) "
@@ -56,18 +61,14 @@ public class ResubmitFormResponseTaskConfigDAO implements ITaskConfigDAO<Resubmi
      * {@inheritDoc}
      */
     @Override
-    public synchronized void insert( ResubmitFormResponseTaskConfig config )
+    public void insert( ResubmitFormResponseTaskConfig config )
     {
-        try ( DAOUtil daoUtil = new DAOUtil( SQL_QUERY_INSERT, WorkflowUtils.getPlugin( ) ) )
-        {
-            int nIndex = 1;
+        UpsertUtils.insertOrUpdate( WorkflowUtils.getPlugin( ), ( ) -> insertRow( config ), ( ) -> store( config ) );
 
-            daoUtil.setInt( nIndex++, config.getIdTask( ) );
-            daoUtil.setInt( nIndex++, config.getIdStateAfterEdition( ) );
-            daoUtil.setString( nIndex++, config.getDefaultMessage( ) );
+        TaskConfigCacheService.getInstance( ).removeConfig( CACHE_CONFIG_TYPE, config.getIdTask( ) );
 
-            daoUtil.executeUpdate( );
-        }
+        TaskInformationCacheService.getInstance( ).removeTaskInformationByTask( config.getIdTask( ) );
+        ActionTaskIndexCacheService.getInstance( ).removeAll( );
     }
 
     /**
@@ -86,6 +87,10 @@ public class ResubmitFormResponseTaskConfigDAO implements ITaskConfigDAO<Resubmi
             daoUtil.setInt( nIndex++, config.getIdTask( ) );
             daoUtil.executeUpdate( );
         }
+
+        TaskConfigCacheService.getInstance( ).removeConfig( CACHE_CONFIG_TYPE, config.getIdTask( ) );
+
+        TaskInformationCacheService.getInstance( ).removeTaskInformationByTask( config.getIdTask( ) );
     }
 
     /**
@@ -93,6 +98,20 @@ public class ResubmitFormResponseTaskConfigDAO implements ITaskConfigDAO<Resubmi
      */
     @Override
     public ResubmitFormResponseTaskConfig load( int nIdTask )
+    {
+        ResubmitFormResponseTaskConfig config = TaskConfigCacheService.getInstance( ).getConfig( CACHE_CONFIG_TYPE, nIdTask, this::selectConfig );
+
+        return config != null ? copy( config ) : null;
+    }
+
+    /**
+     * Select the config of a task in the database
+     * 
+     * @param nIdTask
+     *            the id of the task
+     * @return the config, or null if the task has no config
+     */
+    private ResubmitFormResponseTaskConfig selectConfig( int nIdTask )
     {
         ResubmitFormResponseTaskConfig config = null;
         try ( DAOUtil daoUtil = new DAOUtil( SQL_QUERY_FIND_BY_PRIMARY_KEY, WorkflowUtils.getPlugin( ) ) )
@@ -124,5 +143,46 @@ public class ResubmitFormResponseTaskConfigDAO implements ITaskConfigDAO<Resubmi
             daoUtil.setInt( 1, nIdTask );
             daoUtil.executeUpdate( );
         }
+
+        TaskConfigCacheService.getInstance( ).removeConfig( CACHE_CONFIG_TYPE, nIdTask );
+
+        TaskInformationCacheService.getInstance( ).removeTaskInformationByTask( nIdTask );
+    }
+
+    /**
+     * Insert a new config
+     * 
+     * @param config
+     *            the config
+     */
+    private void insertRow( ResubmitFormResponseTaskConfig config )
+    {
+        try ( DAOUtil daoUtil = new DAOUtil( SQL_QUERY_INSERT, WorkflowUtils.getPlugin( ) ) )
+        {
+            int nIndex = 1;
+
+            daoUtil.setInt( nIndex++, config.getIdTask( ) );
+            daoUtil.setInt( nIndex++, config.getIdStateAfterEdition( ) );
+            daoUtil.setString( nIndex++, config.getDefaultMessage( ) );
+
+            daoUtil.executeUpdate( );
+        }
+    }
+
+    /**
+     * Copy a config, so that the instance held by the cache is never modified by the callers
+     * 
+     * @param config
+     *            the config to copy
+     * @return the copy of the config
+     */
+    private static ResubmitFormResponseTaskConfig copy( ResubmitFormResponseTaskConfig config )
+    {
+        ResubmitFormResponseTaskConfig configCopy = new ResubmitFormResponseTaskConfig( );
+        configCopy.setIdTask( config.getIdTask( ) );
+        configCopy.setIdStateAfterEdition( config.getIdStateAfterEdition( ) );
+        configCopy.setDefaultMessage( config.getDefaultMessage( ) );
+
+        return configCopy;
     }
 }
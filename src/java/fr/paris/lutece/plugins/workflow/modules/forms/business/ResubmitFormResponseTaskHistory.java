@@ -37,6 +37,7 @@ public class ResubmitFormResponseTaskHistory extends AbstractFormResponseTaskHis
 {
 
     private String _strPreviousValue;
+    private int _nPreviousValueLength;
 
     /**
      * @return the previousValue
@@ -54,4 +55,21 @@ public class ResubmitFormResponseTaskHistory extends AbstractFormResponseTaskHis
     {
         _strPreviousValue = previousValue;
     }
+
+    /**
+     * @return the length of the previousValue, when the history is loaded as a summary
+     */
+    public int getPreviousValueLength( )
+    {
+        return _nPreviousValueLength;
+    }
+
+    /**
+     * @param previousValueLength
+     *            the length of the previousValue to set
+     */
+    public void setPreviousValueLength( int previousValueLength )
+    {
+        _nPreviousValueLength = previousValueLength;
+    }
 }
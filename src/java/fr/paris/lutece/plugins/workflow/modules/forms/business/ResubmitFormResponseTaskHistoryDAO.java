@@ -33,9 +33,9 @@
  */
 package fr.paris.lutece.plugins.workflow.modules.forms.business;
 
-import java.sql.Statement;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Consumer;
 
 import fr.paris.lutece.plugins.forms.business.Question;
 import fr.paris.lutece.plugins.workflow.utils.WorkflowUtils;
@@ -44,26 +44,31 @@ import fr.paris.lutece.util.sql.DAOUtil;
 public class ResubmitFormResponseTaskHistoryDAO implements IResubmitFormResponseTaskHistoryDAO
 {
     private static final String SQL_QUERY_SELECT = "SELECT id_history, id_task, id_question, iteration_number, previous_value, new_value FROM workflow_task_resubmit_response_history ";
-    private static final String SQL_QUERY_INSERT = "INSERT INTO  workflow_task_resubmit_response_history "
-            + "(id_history, id_task, id_question, iteration_number, previous_value, new_value) VALUES (?,?,?,?,?,?)";
     private static final String SQL_FILTER_IDHISTORY_IDTASK = SQL_QUERY_SELECT + "WHERE id_history = ? AND id_task = ?";
+    private static final String SQL_QUERY_SELECT_SUMMARY = "SELECT id_history, id_task, id_question, iteration_number, CASE WHEN previous_value_length <= ? THEN previous_value END, "
+            + "CASE WHEN new_value_length <= ? THEN new_value END, previous_value_length, new_value_length "
+            + "FROM workflow_task_resubmit_response_history WHERE id_history = ? AND id_task = ?";
+    private static final String SQL_FILTER_PRIMARY_KEY = SQL_QUERY_SELECT + "WHERE id_history = ? AND id_task = ? AND id_question = ? AND iteration_number = ?";
     private static final String SQL_QUERY_DELETE = "DELETE FROM workflow_task_resubmit_response_history WHERE id_history = ? AND id_task = ? ";
 
+    private final TaskHistoryWriter<ResubmitFormResponseTaskHistory> _writer = new TaskHistoryWriter<>( "workflow_task_resubmit_response_history", ResubmitFormResponseTaskHistory::getPreviousValue );
+
+    /**
+     * {@inheritDoc}
+     */
     @Override
-    public synchronized void insert( ResubmitFormResponseTaskHistory resubmitFormResponseTaskHistory )
+    public void insert( ResubmitFormResponseTaskHistory resubmitFormResponseTaskHistory )
     {
-        try ( DAOUtil daoUtil = new DAOUtil( SQL_QUERY_INSERT, Statement.RETURN_GENERATED_KEYS, WorkflowUtils.getPlugin( ) ) )
-        {
-            int nPos = 0;
-            daoUtil.setInt( ++nPos, resubmitFormResponseTaskHistory.getIdHistory( ) );
-            daoUtil.setInt( ++nPos, resubmitFormResponseTaskHistory.getIdTask( ) );
-            daoUtil.setInt( ++nPos, resubmitFormResponseTaskHistory.getQuestion( ).getId( ) );
-            daoUtil.setInt( ++nPos, resubmitFormResponseTaskHistory.getQuestion( ).getIterationNumber( ) );
-            daoUtil.setString( ++nPos, resubmitFormResponseTaskHistory.getPreviousValue( ) );
-            daoUtil.setString( ++nPos, resubmitFormResponseTaskHistory.getNewValue( ) );
+        _writer.insert( resubmitFormResponseTaskHistory );
+    }
 
-            daoUtil.executeUpdate( );
-        }
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void insertAll( List<ResubmitFormResponseTaskHistory> listResubmitFormResponseTaskHistory )
+    {
+        _writer.insertAll( listResubmitFormResponseTaskHistory );
     }
 
     @Override
@@ -102,12 +107,85 @@ public class ResubmitFormResponseTaskHistoryDAO implements IResubmitFormResponse
         question.setId( daoUtil.getInt( ++nIndex ) );
         question.setIterationNumber( daoUtil.getInt( ++nIndex ) );
         resubmitFormResponseTaskHistory.setQuestion( question );
-        resubmitFormResponseTaskHistory.setPreviousValue( daoUtil.getString( ++nIndex ) );
-        resubmitFormResponseTaskHistory.setNewValue( daoUtil.getString( ++nIndex ) );
+        resubmitFormResponseTaskHistory.setPreviousValue( HistoryValueCodec.decode( daoUtil.getString( ++nIndex ) ) );
+        resubmitFormResponseTaskHistory.setNewValue( HistoryValueCodec.decode( daoUtil.getString( ++nIndex ) ) );
 
         return resubmitFormResponseTaskHistory;
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<ResubmitFormResponseTaskHistory> selectSummaryByIdHistoryAndIdTask( int nIdHistory, int nIdTask, int nMaxValueLength )
+    {
+        List<ResubmitFormResponseTaskHistory> listResult = new ArrayList<>( );
+        try ( DAOUtil daoUtil = new DAOUtil( SQL_QUERY_SELECT_SUMMARY, WorkflowUtils.getPlugin( ) ) )
+        {
+            int nIndex = 0;
+            daoUtil.setInt( ++nIndex, nMaxValueLength );
+            daoUtil.setInt( ++nIndex, nMaxValueLength );
+            daoUtil.setInt( ++nIndex, nIdHistory );
+            daoUtil.setInt( ++nIndex, nIdTask );
+            daoUtil.executeQuery( );
+
+            while ( daoUtil.next( ) )
+            {
+                listResult.add( getResubmitFormResponseTaskHistorySummaryValues( daoUtil ) );
+            }
+        }
+        return listResult;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public ResubmitFormResponseTaskHistory selectByPrimaryKey( int nIdHistory, int nIdTask, int nIdQuestion, int nIterationNumber )
+    {
+        ResubmitFormResponseTaskHistory taskHistory = null;
+        try ( DAOUtil daoUtil = new DAOUtil( SQL_FILTER_PRIMARY_KEY, WorkflowUtils.getPlugin( ) ) )
+        {
+            int nIndex = 0;
+            daoUtil.setInt( ++nIndex, nIdHistory );
+            daoUtil.setInt( ++nIndex, nIdTask );
+            daoUtil.setInt( ++nIndex, nIdQuestion );
+            daoUtil.setInt( ++nIndex, nIterationNumber );
+            daoUtil.executeQuery( );
+
+            if ( daoUtil.next( ) )
+            {
+                taskHistory = getResubmitFormResponseTaskHistoryValues( daoUtil );
+            }
+        }
+        return taskHistory;
+    }
+
+    /**
+     * set a ResubmitFormResponseTaskHistory with database value, and the length of its values
+     * 
+     * @param daoUtil
+     * @return a ResubmitFormResponseTaskHistory setted
+     */
+    private ResubmitFormResponseTaskHistory getResubmitFormResponseTaskHistorySummaryValues( DAOUtil daoUtil )
+    {
+        ResubmitFormResponseTaskHistory taskHistory = getResubmitFormResponseTaskHistoryValues( daoUtil );
+        int nIndex = 6;
+        taskHistory.setPreviousValueLength( daoUtil.getInt( ++nIndex ) );
+        taskHistory.setNewValueLength( daoUtil.getInt( ++nIndex ) );
+
+        return taskHistory;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void selectByIdTask( int nIdTask, int nIdQuestion, int nIdHistoryAfter, Consumer<ResubmitFormResponseTaskHistory> consumer )
+    {
+        TaskHistoryKeysetReader.read( SQL_QUERY_SELECT, nIdTask, nIdQuestion, nIdHistoryAfter, this::getResubmitFormResponseTaskHistoryValues, consumer );
+    }
+
     @Override
     public void deleteByIdHistoryAndTask( int nIdHistory, int nIdTask )
     {
@@ -38,6 +38,7 @@ import fr.paris.lutece.util.sql.DAOUtil;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.stream.Collectors;
 
 /**
  *
@@ -49,12 +50,29 @@ public class ResubmitFormResponseValueDAO implements IResubmitFormResponseValueD
     private static final String SQL_QUERY_SELECT = " SELECT id_history, id_entry FROM workflow_task_resubmit_response_value WHERE id_history = ? ";
     private static final String SQL_QUERY_INSERT = " INSERT INTO workflow_task_resubmit_response_value (id_history, id_entry ) VALUES ( ?,? ) ";
     private static final String SQL_QUERY_DELETE = " DELETE FROM workflow_task_resubmit_response_value WHERE id_history = ? ";
+    private static final String SQL_QUERY_DELETE_BY_ID_HISTORY_LIST = " DELETE FROM workflow_task_resubmit_response_value WHERE id_history IN ";
+    private static final String SQL_QUERY_DELETE_BY_ENTRY = " DELETE FROM workflow_task_resubmit_response_value WHERE id_history = ? AND id_entry = ? ";
 
     /**
      * {@inheritDoc}
      */
     @Override
-    public synchronized void insert( ResubmitFormResponseValue resubmitFormResponseValue, Plugin plugin )
+    public void insert( ResubmitFormResponseValue resubmitFormResponseValue, Plugin plugin )
+    {
+        // The record only holds its primary key: if it already exists, there is nothing to update
+        UpsertUtils.insertOrUpdate( plugin, ( ) -> insertRow( resubmitFormResponseValue, plugin ), ( ) -> {
+        } );
+    }
+
+    /**
+     * Insert a new record
+     * 
+     * @param resubmitFormResponseValue
+     *            the ResubmitFormResponseValue object
+     * @param plugin
+     *            the plugin
+     */
+    private void insertRow( ResubmitFormResponseValue resubmitFormResponseValue, Plugin plugin )
     {
         int nIndex = 1;
 
@@ -67,6 +85,57 @@ public class ResubmitFormResponseValueDAO implements IResubmitFormResponseValueD
         }
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void insertAll( int nIdHistory, List<ResubmitFormResponseValue> listResubmitFormResponseValues, Plugin plugin )
+    {
+        if ( listResubmitFormResponseValues == null || listResubmitFormResponseValues.isEmpty( ) )
+        {
+            return;
+        }
+
+        for ( ResubmitFormResponseValue resubmitFormResponseValue : listResubmitFormResponseValues )
+        {
+            resubmitFormResponseValue.setIdHistory( nIdHistory );
+        }
+
+        // A concurrent writer may have inserted some of the records: the batch is then replaced by the insert of each record
+        UpsertUtils.insertOrUpdate( plugin, ( ) -> insertBatch( listResubmitFormResponseValues, plugin ), ( ) -> {
+            for ( ResubmitFormResponseValue resubmitFormResponseValue : listResubmitFormResponseValues )
+            {
+                insert( resubmitFormResponseValue, plugin );
+            }
+        } );
+    }
+
+    /**
+     * Insert records in a single batch
+     * 
+     * @param listResubmitFormResponseValues
+     *            the records
+     * @param plugin
+     *            the plugin
+     */
+    private void insertBatch( List<ResubmitFormResponseValue> listResubmitFormResponseValues, Plugin plugin )
+    {
+        try ( DAOUtil daoUtil = new DAOUtil( SQL_QUERY_INSERT, plugin ) )
+        {
+            for ( ResubmitFormResponseValue resubmitFormResponseValue : listResubmitFormResponseValues )
+            {
+                int nIndex = 1;
+
+                daoUtil.setInt( nIndex++, resubmitFormResponseValue.getIdHistory( ) );
+                daoUtil.setInt( nIndex++, resubmitFormResponseValue.getIdEntry( ) );
+
+                daoUtil.addBatch( );
+            }
+
+            daoUtil.executeBatch( );
+        }
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -110,4 +179,56 @@ public class ResubmitFormResponseValueDAO implements IResubmitFormResponseValueD
             daoUtil.executeUpdate( );
         }
     }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void deleteAll( int nIdHistory, List<Integer> listIdEntry, Plugin plugin )
+    {
+        if ( listIdEntry == null || listIdEntry.isEmpty( ) )
+        {
+            return;
+        }
+
+        try ( DAOUtil daoUtil = new DAOUtil( SQL_QUERY_DELETE_BY_ENTRY, plugin ) )
+        {
+            for ( Integer nIdEntry : listIdEntry )
+            {
+                int nIndex = 1;
+
+                daoUtil.setInt( nIndex++, nIdHistory );
+                daoUtil.setInt( nIndex++, nIdEntry );
+
+                daoUtil.addBatch( );
+            }
+
+            daoUtil.executeBatch( );
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void deleteByIdHistoryList( List<Integer> listIdHistory, Plugin plugin )
+    {
+        if ( listIdHistory == null || listIdHistory.isEmpty( ) )
+        {
+            return;
+        }
+
+        String strQuery = SQL_QUERY_DELETE_BY_ID_HISTORY_LIST + listIdHistory.stream( ).map( nIdHistory -> "?" ).collect( Collectors.joining( ",", "( ", " )" ) );
+
+        try ( DAOUtil daoUtil = new DAOUtil( strQuery, plugin ) )
+        {
+            int nIndex = 1;
+            for ( Integer nIdHistory : listIdHistory )
+            {
+                daoUtil.setInt( nIndex++, nIdHistory );
+            }
+
+            daoUtil.executeUpdate( );
+        }
+    }
 }
@@ -0,0 +1,189 @@
+/*
+ * Copyright (c) 2002-2021, City of Paris
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ *  1. Redistributions of source code must retain the above copyright notice
+ *     and the following disclaimer.
+ *
+ *  2. Redistributions in binary form must reproduce the above copyright notice
+ *     and the following disclaimer in the documentation and/or other materials
+ *     provided with the distribution.
+ *
+ *  3. Neither the name of 'Mairie de Paris' nor 'Lutece' nor the names of its
+ *     contributors may be used to endorse or promote products derived from
+ *     this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ *
+ * License 1.0
+ */
+package fr.paris.lutece.plugins.workflow.modules.forms.business;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import fr.paris.lutece.plugins.workflow.utils.WorkflowUtils;
+import fr.paris.lutece.util.sql.DAOUtil;
+
+/**
+ * Reader of the task histories of a task, by pages ordered by id history. A page never splits the records of a history, and only one page is held in
+ * memory at a time.
+ */
+final class TaskHistoryKeysetReader
+{
+    private static final int PAGE_SIZE = 1000;
+
+    private static final String SQL_FILTER_PAGE = "WHERE id_task = ? AND id_history > ? ";
+    private static final String SQL_FILTER_HISTORY = "WHERE id_task = ? AND id_history = ? ";
+    private static final String SQL_FILTER_QUESTION = "AND id_question = ? ";
+    private static final String SQL_ORDER_BY = "ORDER BY id_history, id_question, iteration_number ";
+    private static final String SQL_LIMIT = "LIMIT ? ";
+
+    /**
+     * Private constructor
+     */
+    private TaskHistoryKeysetReader( )
+    {
+    }
+
+    /**
+     * Read the task histories of a task
+     * 
+     * @param strQuerySelect
+     *            the select clause of the history table, without filter
+     * @param nIdTask
+     *            the id of the task
+     * @param nIdQuestion
+     *            the id of the question, or a negative or zero value for all the questions
+     * @param nIdHistoryAfter
+     *            the id of history after which the records are read
+     * @param mapper
+     *            the mapper of the current row to a task history
+     * @param consumer
+     *            the consumer of the task histories
+     * @param <H>
+     *            the type of task history
+     */
+    static <H extends AbstractFormResponseTaskHistory> void read( String strQuerySelect, int nIdTask, int nIdQuestion, int nIdHistoryAfter,
+            Function<DAOUtil, H> mapper, Consumer<H> consumer )
+    {
+        String strQueryQuestion = nIdQuestion > 0 ? SQL_FILTER_QUESTION : "";
+        String strQueryPage = strQuerySelect + SQL_FILTER_PAGE + strQueryQuestion + SQL_ORDER_BY + SQL_LIMIT;
+        String strQueryHistory = strQuerySelect + SQL_FILTER_HISTORY + strQueryQuestion + SQL_ORDER_BY;
+
+        int nIdHistory = nIdHistoryAfter;
+        boolean bFullPage = true;
+
+        while ( bFullPage )
+        {
+            List<H> listPage = select( strQueryPage, nIdTask, nIdHistory, nIdQuestion, PAGE_SIZE, mapper );
+            if ( listPage.isEmpty( ) )
+            {
+                return;
+            }
+
+            bFullPage = listPage.size( ) == PAGE_SIZE;
+            nIdHistory = listPage.get( listPage.size( ) - 1 ).getIdHistory( );
+
+            if ( bFullPage )
+            {
+                if ( listPage.get( 0 ).getIdHistory( ) == nIdHistory )
+                {
+                    // A single history fills the page: read it entirely
+                    listPage = select( strQueryHistory, nIdTask, nIdHistory, nIdQuestion, 0, mapper );
+                }
+                else
+                {
+                    // The last history may be truncated: it is read again by the next page
+                    removeLastHistory( listPage, nIdHistory );
+                    nIdHistory = listPage.get( listPage.size( ) - 1 ).getIdHistory( );
+                }
+            }
+
+            listPage.forEach( consumer );
+        }
+    }
+
+    /**
+     * Select some task histories
+     * 
+     * @param strQuery
+     *            the query
+     * @param nIdTask
+     *            the id of the task
+     * @param nIdHistory
+     *            the id of history used by the filter
+     * @param nIdQuestion
+     *            the id of the question, or a negative or zero value for all the questions
+     * @param nLimit
+     *            the maximum number of records, or zero if the query has no limit
+     * @param mapper
+     *            the mapper of the current row to a task history
+     * @param <H>
+     *            the type of task history
+     * @return the task histories
+     */
+    private static <H extends AbstractFormResponseTaskHistory> List<H> select( String strQuery, int nIdTask, int nIdHistory, int nIdQuestion, int nLimit,
+            Function<DAOUtil, H> mapper )
+    {
+        List<H> listResult = new ArrayList<>( );
+
+        try ( DAOUtil daoUtil = new DAOUtil( strQuery, WorkflowUtils.getPlugin( ) ) )
+        {
+            int nIndex = 0;
+            daoUtil.setInt( ++nIndex, nIdTask );
+            daoUtil.setInt( ++nIndex, nIdHistory );
+            if ( nIdQuestion > 0 )
+            {
+                daoUtil.setInt( ++nIndex, nIdQuestion );
+            }
+            if ( nLimit > 0 )
+            {
+                daoUtil.setInt( ++nIndex, nLimit );
+            }
+
+            daoUtil.executeQuery( );
+
+            while ( daoUtil.next( ) )
+            {
+                listResult.add( mapper.apply( daoUtil ) );
+            }
+        }
+
+        return listResult;
+    }
+
+    /**
+     * Remove the records of a history from the end of a page
+     * 
+     * @param listPage
+     *            the page
+     * @param nIdHistory
+     *            the id of the last history of the page
+     * @param <H>
+     *            the type of task history
+     */
+    private static <H extends AbstractFormResponseTaskHistory> void removeLastHistory( List<H> listPage, int nIdHistory )
+    {
+        while ( listPage.get( listPage.size( ) - 1 ).getIdHistory( ) == nIdHistory )
+        {
+            listPage.remove( listPage.size( ) - 1 );
+        }
+    }
+}
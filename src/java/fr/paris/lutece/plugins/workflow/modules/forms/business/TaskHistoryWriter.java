@@ -0,0 +1,177 @@
+/*
+ * Copyright (c) 2002-2021, City of Paris
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ *  1. Redistributions of source code must retain the above copyright notice
+ *     and the following disclaimer.
+ *
+ *  2. Redistributions in binary form must reproduce the above copyright notice
+ *     and the following disclaimer in the documentation and/or other materials
+ *     provided with the distribution.
+ *
+ *  3. Neither the name of 'Mairie de Paris' nor 'Lutece' nor the names of its
+ *     contributors may be used to endorse or promote products derived from
+ *     this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ *
+ * License 1.0
+ */
+package fr.paris.lutece.plugins.workflow.modules.forms.business;
+
+import java.util.List;
+import java.util.function.Function;
+
+import org.apache.commons.lang3.StringUtils;
+
+import fr.paris.lutece.plugins.workflow.utils.WorkflowUtils;
+import fr.paris.lutece.util.sql.DAOUtil;
+
+/**
+ * Writer of the task histories of a history table. A task history is inserted, or updated if it already exists, and several task histories are inserted
+ * in a single batch which falls back to the write of each task history when some of them already exist.
+ * 
+ * @param <H>
+ *            the type of task history
+ */
+final class TaskHistoryWriter<H extends AbstractFormResponseTaskHistory>
+{
+    private static final String SQL_COLUMNS_PREVIOUS_VALUE = "previous_value, previous_value_length, ";
+    private static final String SQL_COLUMNS_NEW_VALUE = "new_value, new_value_length, ";
+    private static final String SQL_COLUMNS_KEY = "id_history, id_task, id_question, iteration_number";
+    private static final String SQL_SET_PREVIOUS_VALUE = "previous_value = ?, previous_value_length = ?, ";
+    private static final String SQL_SET_NEW_VALUE = "new_value = ?, new_value_length = ? ";
+    private static final String SQL_WHERE_KEY = "WHERE id_history = ? AND id_task = ? AND id_question = ? AND iteration_number = ? ";
+
+    private final String _strQueryInsert;
+    private final String _strQueryUpdate;
+    private final Function<H, String> _previousValue;
+
+    /**
+     * Constructor
+     * 
+     * @param strTable
+     *            the history table
+     * @param previousValue
+     *            the getter of the previous value of a task history, or null if the table has no previous value
+     */
+    TaskHistoryWriter( String strTable, Function<H, String> previousValue )
+    {
+        String strColumnsValue = previousValue != null ? SQL_COLUMNS_PREVIOUS_VALUE + SQL_COLUMNS_NEW_VALUE : SQL_COLUMNS_NEW_VALUE;
+        String strParameters = previousValue != null ? "?,?,?,?,?,?,?,?" : "?,?,?,?,?,?";
+        _strQueryInsert = "INSERT INTO " + strTable + " (" + strColumnsValue + SQL_COLUMNS_KEY + ") VALUES (" + strParameters + ")";
+
+        String strSetValue = previousValue != null ? SQL_SET_PREVIOUS_VALUE + SQL_SET_NEW_VALUE : SQL_SET_NEW_VALUE;
+        _strQueryUpdate = "UPDATE " + strTable + " SET " + strSetValue + SQL_WHERE_KEY;
+
+        _previousValue = previousValue;
+    }
+
+    /**
+     * Insert a task history, or update it if it already exists
+     * 
+     * @param taskHistory
+     *            the task history
+     */
+    void insert( H taskHistory )
+    {
+        UpsertUtils.insertOrUpdate( WorkflowUtils.getPlugin( ), ( ) -> write( _strQueryInsert, taskHistory ), ( ) -> write( _strQueryUpdate, taskHistory ) );
+    }
+
+    /**
+     * Insert several task histories in a single batch, or write them one by one if some of them already exist
+     * 
+     * @param listTaskHistory
+     *            the task histories
+     */
+    void insertAll( List<H> listTaskHistory )
+    {
+        if ( listTaskHistory.isEmpty( ) )
+        {
+            return;
+        }
+
+        UpsertUtils.insertOrUpdate( WorkflowUtils.getPlugin( ), ( ) -> insertBatch( listTaskHistory ), ( ) -> {
+            for ( H taskHistory : listTaskHistory )
+            {
+                insert( taskHistory );
+            }
+        } );
+    }
+
+    /**
+     * Insert task histories in a single batch
+     * 
+     * @param listTaskHistory
+     *            the task histories
+     */
+    private void insertBatch( List<H> listTaskHistory )
+    {
+        try ( DAOUtil daoUtil = new DAOUtil( _strQueryInsert, WorkflowUtils.getPlugin( ) ) )
+        {
+            for ( H taskHistory : listTaskHistory )
+            {
+                setValues( daoUtil, taskHistory );
+                daoUtil.addBatch( );
+            }
+
+            daoUtil.executeBatch( );
+        }
+    }
+
+    /**
+     * Write a task history
+     * 
+     * @param strQuery
+     *            the insert or update query
+     * @param taskHistory
+     *            the task history
+     */
+    private void write( String strQuery, H taskHistory )
+    {
+        try ( DAOUtil daoUtil = new DAOUtil( strQuery, WorkflowUtils.getPlugin( ) ) )
+        {
+            setValues( daoUtil, taskHistory );
+            daoUtil.executeUpdate( );
+        }
+    }
+
+    /**
+     * Set the values of a task history, followed by its key, as expected by both the insert and the update queries
+     * 
+     * @param daoUtil
+     *            the daoUtil of the query
+     * @param taskHistory
+     *            the task history
+     */
+    private void setValues( DAOUtil daoUtil, H taskHistory )
+    {
+        int nPos = 0;
+        if ( _previousValue != null )
+        {
+            String strPreviousValue = _previousValue.apply( taskHistory );
+            daoUtil.setString( ++nPos, HistoryValueCodec.encode( strPreviousValue ) );
+            daoUtil.setInt( ++nPos, StringUtils.length( strPreviousValue ) );
+        }
+        daoUtil.setString( ++nPos, HistoryValueCodec.encode( taskHistory.getNewValue( ) ) );
+        daoUtil.setInt( ++nPos, StringUtils.length( taskHistory.getNewValue( ) ) );
+        daoUtil.setInt( ++nPos, taskHistory.getIdHistory( ) );
+        daoUtil.setInt( ++nPos, taskHistory.getIdTask( ) );
+        daoUtil.setInt( ++nPos, taskHistory.getQuestion( ).getId( ) );
+        daoUtil.setInt( ++nPos, taskHistory.getQuestion( ).getIterationNumber( ) );
+    }
+}
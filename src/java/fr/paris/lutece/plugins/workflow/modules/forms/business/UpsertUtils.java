@@ -0,0 +1,201 @@
+/*
+ * Copyright (c) 2002-2021, City of Paris
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ *  1. Redistributions of source code must retain the above copyright notice
+ *     and the following disclaimer.
+ *
+ *  2. Redistributions in binary form must reproduce the above copyright notice
+ *     and the following disclaimer in the documentation and/or other materials
+ *     provided with the distribution.
+ *
+ *  3. Neither the name of 'Mairie de Paris' nor 'Lutece' nor the names of its
+ *     contributors may be used to endorse or promote products derived from
+ *     this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ *
+ * License 1.0
+ */
+package fr.paris.lutece.plugins.workflow.modules.forms.business;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLIntegrityConstraintViolationException;
+import java.sql.Savepoint;
+
+import fr.paris.lutece.portal.service.plugin.Plugin;
+import fr.paris.lutece.portal.service.util.AppException;
+import fr.paris.lutece.portal.service.util.AppLogService;
+import fr.paris.lutece.util.sql.MultiPluginTransaction;
+import fr.paris.lutece.util.sql.TransactionManager;
+
+/**
+ * Utility class for the writes of a row which may or may not exist yet. The row is inserted, and updated instead if the insert violates the primary key,
+ * so that concurrent writes of the same row, from this node or another one, are arbitrated by the database without any lock in the JVM. Within a
+ * transaction, the insert runs behind a savepoint which is rolled back on a duplicate key, so that the transaction stays usable on the databases which
+ * abort it on a failed statement.
+ */
+final class UpsertUtils
+{
+    private static final String SQL_STATE_INTEGRITY_CONSTRAINT_VIOLATION = "23";
+
+    /**
+     * Private constructor
+     */
+    private UpsertUtils( )
+    {
+    }
+
+    /**
+     * Insert a row, or update it if it already exists
+     * 
+     * @param plugin
+     *            the plugin whose pool holds the row
+     * @param insert
+     *            the insert of the row
+     * @param update
+     *            the update of the existing row, run if the insert violates the primary key
+     */
+    static void insertOrUpdate( Plugin plugin, Runnable insert, Runnable update )
+    {
+        MultiPluginTransaction transaction = TransactionManager.getCurrentTransaction( plugin );
+        Connection connection = transaction != null ? transaction.getConnection( ) : null;
+        Savepoint savepoint = setSavepoint( connection );
+
+        try
+        {
+            insert.run( );
+        }
+        catch( AppException e )
+        {
+            if ( !isDuplicateKey( e ) )
+            {
+                throw e;
+            }
+
+            rollback( connection, savepoint );
+            update.run( );
+
+            return;
+        }
+
+        releaseSavepoint( connection, savepoint );
+    }
+
+    /**
+     * Tell if an exception is caused by an integrity constraint violation
+     * 
+     * @param exception
+     *            the exception
+     * @return true if the exception is caused by a duplicate key, false otherwise
+     */
+    static boolean isDuplicateKey( Throwable exception )
+    {
+        for ( Throwable cause = exception; cause != null && cause.getCause( ) != cause; cause = cause.getCause( ) )
+        {
+            if ( cause instanceof SQLIntegrityConstraintViolationException )
+            {
+                return true;
+            }
+
+            if ( cause instanceof SQLException )
+            {
+                String strSQLState = ( (SQLException) cause ).getSQLState( );
+
+                return strSQLState != null && strSQLState.startsWith( SQL_STATE_INTEGRITY_CONSTRAINT_VIOLATION );
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Set a savepoint in the current transaction
+     * 
+     * @param connection
+     *            the connection of the current transaction, or null if there is no transaction
+     * @return the savepoint, or null if there is no transaction
+     */
+    private static Savepoint setSavepoint( Connection connection )
+    {
+        if ( connection == null )
+        {
+            return null;
+        }
+
+        try
+        {
+            return connection.setSavepoint( );
+        }
+        catch( SQLException e )
+        {
+            throw new AppException( "Unable to set a savepoint", e );
+        }
+    }
+
+    /**
+     * Roll back the current transaction to a savepoint
+     * 
+     * @param connection
+     *            the connection of the current transaction, or null if there is no transaction
+     * @param savepoint
+     *            the savepoint, or null if there is no transaction
+     */
+    private static void rollback( Connection connection, Savepoint savepoint )
+    {
+        if ( savepoint == null )
+        {
+            return;
+        }
+
+        try
+        {
+            connection.rollback( savepoint );
+        }
+        catch( SQLException e )
+        {
+            throw new AppException( "Unable to roll back to a savepoint", e );
+        }
+    }
+
+    /**
+     * Release a savepoint of the current transaction
+     * 
+     * @param connection
+     *            the connection of the current transaction, or null if there is no transaction
+     * @param savepoint
+     *            the savepoint, or null if there is no transaction
+     */
+    private static void releaseSavepoint( Connection connection, Savepoint savepoint )
+    {
+        if ( savepoint == null )
+        {
+            return;
+        }
+
+        try
+        {
+            connection.releaseSavepoint( savepoint );
+        }
+        catch( SQLException e )
+        {
+            // Not every driver releases savepoints: the savepoint is released with the transaction anyway
+            AppLogService.debug( "Unable to release a savepoint : " + e.getMessage( ) );
+        }
+    }
+}
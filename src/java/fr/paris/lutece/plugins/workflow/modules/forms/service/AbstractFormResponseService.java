@@ -36,6 +36,7 @@ package fr.paris.lutece.plugins.workflow.modules.forms.service;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Locale;
+import java.util.function.IntFunction;
 
 import javax.inject.Inject;
 import javax.servlet.http.HttpServletRequest;
@@ -43,6 +44,7 @@ import javax.servlet.http.HttpServletRequest;
 import fr.paris.lutece.plugins.forms.business.FormQuestionResponse;
 import fr.paris.lutece.plugins.forms.business.FormResponse;
 import fr.paris.lutece.plugins.forms.business.Question;
+import fr.paris.lutece.plugins.genericattributes.business.Entry;
 import fr.paris.lutece.plugins.workflow.modules.forms.service.task.IEditFormResponseTaskService;
 import fr.paris.lutece.plugins.workflow.modules.forms.service.task.IFormsTaskService;
 import fr.paris.lutece.plugins.workflow.modules.forms.utils.EditableResponse;
@@ -87,6 +89,31 @@ public abstract class AbstractFormResponseService
                     action.getWorkflow( ).getId( ) );
             resourceWorkflow.setState( state );
             _resourceWorkflowService.update( resourceWorkflow );
+        }
+    }
+
+    /**
+     * Run the automatic actions of the state reached by the response. They run their own tasks, and must be called once the change of state is committed.
+     * 
+     * @param task
+     *            the task
+     * @param idStateAfterEdition
+     *            the id of the state after the edition
+     * @param idHistory
+     *            the id of the history
+     * @param locale
+     *            the locale
+     */
+    protected void doProcessAutomaticActions( ITask task, int idStateAfterEdition, int idHistory, Locale locale )
+    {
+        State state = _stateService.findByPrimaryKey( idStateAfterEdition );
+        Action action = _actionService.findByPrimaryKey( task.getAction( ).getId( ) );
+
+        if ( state != null && action != null )
+        {
+            FormResponse response = _formsTaskService.getFormResponseFromIdHistory( idHistory );
+            ResourceWorkflow resourceWorkflow = _resourceWorkflowService.findByPrimaryKey( response.getId( ), FormResponse.RESOURCE_TYPE,
+                    action.getWorkflow( ).getId( ) );
 
             WorkflowService.getInstance( ).doProcessAutomaticReflexiveActions( response.getId( ), FormResponse.RESOURCE_TYPE, action.getStateAfter( ).getId( ),
                     resourceWorkflow.getExternalParentId( ), locale, null );
@@ -105,13 +132,60 @@ public abstract class AbstractFormResponseService
         for ( EditableResponse editableResponse : listChangedResponse )
         {
             listChangedResponseToSave.add( editableResponse.getResponseFromForm( ) );
-            createTaskHistory( editableResponse, idTask, idHistory );
         }
 
+        createTaskHistories( listChangedResponse, idTask, idHistory );
+
         _editFormResponseTaskService.saveResponses( response, listChangedResponseToSave );
     }
 
-    protected abstract void createTaskHistory( EditableResponse editableResponse, int idTask, int idHistory );
+    /**
+     * Finds the entries with the specified ids, keeping their order. The entries are resolved from the question snapshot of the form of the resource, and
+     * only the entries which are not found there are loaded one by one.
+     * 
+     * @param nIdHistory
+     *            the id of the resource history
+     * @param listIdEntry
+     *            the ids of the entries
+     * @param entryLoader
+     *            the loader of an entry which is not found in the snapshot
+     * @return the list of the entries which exist
+     */
+    protected List<Entry> findEntries( int nIdHistory, List<Integer> listIdEntry, IntFunction<Entry> entryLoader )
+    {
+        List<Entry> listEntries = new ArrayList<>( );
+        if ( listIdEntry.isEmpty( ) )
+        {
+            return listEntries;
+        }
+
+        FormQuestionsSnapshot snapshot = _formsTaskService.findFormQuestionsSnapshot( nIdHistory );
+
+        for ( int nIdEntry : listIdEntry )
+        {
+            Question question = snapshot != null ? snapshot.getQuestionByEntry( nIdEntry ) : null;
+            Entry entry = question != null ? question.getEntry( ) : entryLoader.apply( nIdEntry );
+
+            if ( entry != null )
+            {
+                listEntries.add( entry );
+            }
+        }
+
+        return listEntries;
+    }
+
+    /**
+     * Creates the task histories of the changed responses, in a single batch
+     * 
+     * @param listChangedResponse
+     *            the changed responses
+     * @param idTask
+     *            the id of the task
+     * @param idHistory
+     *            the id of the resource history
+     */
+    protected abstract void createTaskHistories( List<EditableResponse> listChangedResponse, int idTask, int idHistory );
 
     protected boolean isRecordStateValid( ITask task, TaskConfig config, int idHistory )
     {
@@ -44,6 +44,8 @@ import fr.paris.lutece.plugins.forms.business.QuestionHome;
 import fr.paris.lutece.plugins.genericattributes.business.Response;
 import fr.paris.lutece.plugins.workflow.modules.forms.business.FormResponseValueStateControllerConfig;
 import fr.paris.lutece.plugins.workflow.modules.forms.business.FormResponseValueStateControllerConfigHome;
+import fr.paris.lutece.plugins.workflow.modules.forms.service.FormResponseStateControllerRule.RulePredicate;
+import fr.paris.lutece.plugins.workflow.modules.forms.service.cache.StateControllerRuleCacheService;
 import fr.paris.lutece.plugins.workflow.modules.state.service.IChooseStateController;
 import fr.paris.lutece.plugins.workflowcore.service.task.ITask;
 import fr.paris.lutece.util.ReferenceList;
@@ -61,8 +63,67 @@ public abstract class AbstractFormResponseStateController implements IChooseStat
     public void doRemoveConfig( ITask task )
     {
         FormResponseValueStateControllerConfigHome.removeByTask( task.getId( ) );
+        StateControllerRuleCacheService.getInstance( ).removeRules( task.getId( ) );
     }
 
+    @Override
+    public boolean control( ITask task, int nIdResource, String strResourceType )
+    {
+        FormResponseStateControllerRule rule = findRule( task.getId( ) );
+        if ( rule == null || !rule.isEvaluable( ) )
+        {
+            return false;
+        }
+
+        return rule.matches( getResponseFromQuestionAndFormResponse( rule.getIdQuestion( ), nIdResource ) );
+    }
+
+    /**
+     * Finds the compiled rule of the specified task. The rule is cached until the config is saved or removed.
+     * 
+     * @param idTask
+     *            the id of the task
+     * @return the rule, or null if the task has no config
+     */
+    protected FormResponseStateControllerRule findRule( int idTask )
+    {
+        return StateControllerRuleCacheService.getInstance( ).getRule( getName( ), idTask, nIdTask -> {
+            FormResponseValueStateControllerConfig config = FormResponseValueStateControllerConfigHome.findWithoutReferencesByTask( nIdTask );
+            return config != null ? FormResponseStateControllerRule.compile( config, getRulePredicate( ) ) : null;
+        } );
+    }
+
+    /**
+     * Saves the specified config and evicts the compiled rules of its task, for all the controllers. The config is created if the task has no config
+     * yet. This is the only path creating a config, and it is used by the admin UI only.
+     * 
+     * @param controllerConfig
+     *            the config to save
+     */
+    protected void saveConfig( FormResponseValueStateControllerConfig controllerConfig )
+    {
+        FormResponseValueStateControllerConfig existingConfig = FormResponseValueStateControllerConfigHome
+                .findWithoutReferencesByTask( controllerConfig.getIdTask( ) );
+        if ( existingConfig == null )
+        {
+            FormResponseValueStateControllerConfigHome.create( controllerConfig );
+        }
+        else
+        {
+            controllerConfig.setId( existingConfig.getId( ) );
+            FormResponseValueStateControllerConfigHome.update( controllerConfig );
+        }
+        StateControllerRuleCacheService.getInstance( ).removeRules( controllerConfig.getIdTask( ) );
+    }
+
+    /**
+     * Loads the config of the specified task. This method never writes in the database: if the task has no config yet, a new config is returned without
+     * being saved.
+     * 
+     * @param idTask
+     *            the id of the task
+     * @return the config
+     */
     protected FormResponseValueStateControllerConfig loadConfig( int idTask )
     {
         FormResponseValueStateControllerConfig controllerConfig = FormResponseValueStateControllerConfigHome.findByTask( idTask );
@@ -70,7 +131,6 @@ public abstract class AbstractFormResponseStateController implements IChooseStat
         {
             controllerConfig = new FormResponseValueStateControllerConfig( );
             controllerConfig.setIdTask( idTask );
-            FormResponseValueStateControllerConfigHome.create( controllerConfig );
         }
         return controllerConfig;
     }
@@ -96,6 +156,13 @@ public abstract class AbstractFormResponseStateController implements IChooseStat
 
     protected abstract boolean canQuestionBeCondition( Question question );
 
+    /**
+     * Gives the predicate applied by the controller to the response of the configured question
+     * 
+     * @return the predicate
+     */
+    protected abstract RulePredicate getRulePredicate( );
+
     protected Response getResponseFromQuestionAndFormResponse( int IdQuestion, int idResponse )
     {
         List<FormQuestionResponse> responseList = FormQuestionResponseHome.findFormQuestionResponseByResponseQuestion( idResponse, IdQuestion );
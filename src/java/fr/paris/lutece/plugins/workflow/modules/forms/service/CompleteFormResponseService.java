@@ -35,8 +35,10 @@ package fr.paris.lutece.plugins.workflow.modules.forms.service;
 
 import java.sql.Date;
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Locale;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 import javax.inject.Inject;
@@ -45,9 +47,7 @@ import javax.servlet.http.HttpServletRequest;
 
 import fr.paris.lutece.plugins.forms.business.FormResponse;
 import fr.paris.lutece.plugins.forms.business.Question;
-import fr.paris.lutece.plugins.forms.business.QuestionHome;
 import fr.paris.lutece.plugins.genericattributes.business.Entry;
-import fr.paris.lutece.plugins.genericattributes.business.EntryHome;
 import fr.paris.lutece.plugins.genericattributes.business.IEntryDAO;
 import fr.paris.lutece.plugins.workflow.modules.forms.business.CompleteFormResponse;
 import fr.paris.lutece.plugins.workflow.modules.forms.business.CompleteFormResponseTaskConfig;
@@ -55,6 +55,7 @@ import fr.paris.lutece.plugins.workflow.modules.forms.business.CompleteFormRespo
 import fr.paris.lutece.plugins.workflow.modules.forms.business.CompleteFormResponseValue;
 import fr.paris.lutece.plugins.workflow.modules.forms.business.ICompleteFormResponseDAO;
 import fr.paris.lutece.plugins.workflow.modules.forms.business.ICompleteFormResponseValueDAO;
+import fr.paris.lutece.plugins.workflow.modules.forms.service.cache.FormQuestionsCacheService;
 import fr.paris.lutece.plugins.workflow.modules.forms.service.task.ICompleteFormResponseTaskHistoryService;
 import fr.paris.lutece.plugins.workflow.modules.forms.utils.EditableResponse;
 import fr.paris.lutece.plugins.workflow.utils.WorkflowUtils;
@@ -64,12 +65,15 @@ import fr.paris.lutece.plugins.workflowcore.service.task.ITaskService;
 import fr.paris.lutece.portal.service.message.SiteMessage;
 import fr.paris.lutece.portal.service.message.SiteMessageException;
 import fr.paris.lutece.portal.service.plugin.Plugin;
+import fr.paris.lutece.portal.service.util.AppPropertiesService;
 
 public class CompleteFormResponseService extends AbstractFormResponseService implements ICompleteFormResponseService
 {
 
     private static final String MESSAGE_APP_ERROR = "module.workflow.forms.message.app_error";
     private static final String PARAMETER_URL_RETURN = "url_return";
+    private static final String PROPERTY_REMOVE_CHUNK_SIZE = "workflow-forms.remove.chunk_size";
+    private static final int DEFAULT_REMOVE_CHUNK_SIZE = 1000;
 
     @Inject
     private ICompleteFormResponseDAO _completeFormResponseDAO;
@@ -93,8 +97,7 @@ public class CompleteFormResponseService extends AbstractFormResponseService imp
     @Override
     public List<Question> findListQuestionUsedCorrectForm( FormResponse formResponse )
     {
-        List<Question> listQuestionForm = QuestionHome.getListQuestionByIdForm( formResponse.getFormId( ) );
-        return listQuestionForm.stream( ).filter( question -> question.getEntry( ).isUsedInCompleteFormResponse( ) ).collect( Collectors.toList( ) );
+        return FormQuestionsCacheService.getInstance( ).getSnapshot( formResponse.getFormId( ) ).getQuestionsUsedInCompleteFormResponse( );
     }
 
     @Override
@@ -116,18 +119,10 @@ public class CompleteFormResponseService extends AbstractFormResponseService imp
     {
         Plugin plugin = WorkflowUtils.getPlugin( );
 
-        List<CompleteFormResponseValue> listEditRecordValues = _completeFormResponseValueDAO.load( nIdHistory, plugin );
-        List<Entry> listEntries = new ArrayList<>( );
-        for ( CompleteFormResponseValue value : listEditRecordValues )
-        {
-            Entry entry = _entryDAO.load( value.getIdEntry( ), plugin );
+        List<Integer> listIdEntry = _completeFormResponseValueDAO.load( nIdHistory, plugin ).stream( ).map( CompleteFormResponseValue::getIdEntry )
+                .collect( Collectors.toList( ) );
 
-            if ( entry != null )
-            {
-                listEntries.add( entry );
-            }
-        }
-        return listEntries;
+        return findEntries( nIdHistory, listIdEntry, nIdEntry -> _entryDAO.load( nIdEntry, plugin ) );
     }
 
     @Override
@@ -138,11 +133,7 @@ public class CompleteFormResponseService extends AbstractFormResponseService imp
             Plugin plugin = WorkflowUtils.getPlugin( );
             _completeFormResponseDAO.insert( completeFormResponse, plugin );
 
-            for ( CompleteFormResponseValue value : completeFormResponse.getListCompleteReponseValues( ) )
-            {
-                value.setIdHistory( completeFormResponse.getIdHistory( ) );
-                _completeFormResponseValueDAO.insert( value, plugin );
-            }
+            _completeFormResponseValueDAO.insertAll( completeFormResponse.getIdHistory( ), completeFormResponse.getListCompleteReponseValues( ), plugin );
         }
     }
 
@@ -153,15 +144,47 @@ public class CompleteFormResponseService extends AbstractFormResponseService imp
         {
             Plugin plugin = WorkflowUtils.getPlugin( );
             _completeFormResponseDAO.store( completeFormResponse, plugin );
-            // Remove its edit record values first
-            _completeFormResponseValueDAO.delete( completeFormResponse.getIdHistory( ), plugin );
+            updateValues( completeFormResponse.getIdHistory( ), completeFormResponse.getListCompleteReponseValues( ), plugin );
+        }
+    }
 
-            for ( CompleteFormResponseValue value : completeFormResponse.getListCompleteReponseValues( ) )
+    /**
+     * Update the values of a history, by writing only the entries which have been added or removed
+     * 
+     * @param nIdHistory
+     *            the id history
+     * @param listValues
+     *            the new values
+     * @param plugin
+     *            the plugin
+     */
+    private void updateValues( int nIdHistory, List<CompleteFormResponseValue> listValues, Plugin plugin )
+    {
+        Set<Integer> setStoredIdEntry = new HashSet<>( );
+        for ( CompleteFormResponseValue storedValue : _completeFormResponseValueDAO.load( nIdHistory, plugin ) )
+        {
+            setStoredIdEntry.add( storedValue.getIdEntry( ) );
+        }
+
+        Set<Integer> setIdEntry = new HashSet<>( );
+        List<CompleteFormResponseValue> listValuesToInsert = new ArrayList<>( );
+        if ( listValues != null )
+        {
+            for ( CompleteFormResponseValue value : listValues )
             {
-                value.setIdHistory( completeFormResponse.getIdHistory( ) );
-                _completeFormResponseValueDAO.insert( value, plugin );
+                value.setIdHistory( nIdHistory );
+                if ( setIdEntry.add( value.getIdEntry( ) ) && !setStoredIdEntry.contains( value.getIdEntry( ) ) )
+                {
+                    listValuesToInsert.add( value );
+                }
             }
         }
+
+        List<Integer> listIdEntryToDelete = new ArrayList<>( setStoredIdEntry );
+        listIdEntryToDelete.removeAll( setIdEntry );
+
+        _completeFormResponseValueDAO.deleteAll( nIdHistory, listIdEntryToDelete, plugin );
+        _completeFormResponseValueDAO.insertAll( nIdHistory, listValuesToInsert, plugin );
     }
 
     @Override
@@ -181,13 +204,16 @@ public class CompleteFormResponseService extends AbstractFormResponseService imp
     public void removeByIdTask( int nIdTask )
     {
         Plugin plugin = WorkflowUtils.getPlugin( );
-        List<CompleteFormResponse> listResponse = _completeFormResponseDAO.loadByIdTask( nIdTask, plugin );
-        for ( CompleteFormResponse editRecord : listResponse )
+        int nChunkSize = Math.max( 1, AppPropertiesService.getPropertyInt( PROPERTY_REMOVE_CHUNK_SIZE, DEFAULT_REMOVE_CHUNK_SIZE ) );
+
+        // Remove the responses and their values chunk by chunk, so that a task which has run many times does not hold a single huge delete
+        List<Integer> listIdHistory = _completeFormResponseDAO.loadIdHistoryByIdTask( nIdTask, -1, nChunkSize, plugin );
+        while ( !listIdHistory.isEmpty( ) )
         {
-            _completeFormResponseValueDAO.delete( editRecord.getIdHistory( ), plugin );
+            _completeFormResponseValueDAO.deleteByIdHistoryList( listIdHistory, plugin );
+            _completeFormResponseDAO.deleteByIdHistoryList( nIdTask, listIdHistory, plugin );
+            listIdHistory = _completeFormResponseDAO.loadIdHistoryByIdTask( nIdTask, listIdHistory.get( listIdHistory.size( ) - 1 ), nChunkSize, plugin );
         }
-
-        _completeFormResponseDAO.deleteByIdTask( nIdTask, plugin );
     }
 
     @Override
@@ -202,8 +228,7 @@ public class CompleteFormResponseService extends AbstractFormResponseService imp
     @Override
     public List<Question> getListQuestionToEdit( FormResponse formResponse, List<CompleteFormResponseValue> listEditRecordValues )
     {
-        List<Integer> idEntries = listEditRecordValues.stream( ).map( CompleteFormResponseValue::getIdEntry ).map( EntryHome::findByPrimaryKey )
-                .map( Entry::getIdEntry ).collect( Collectors.toList( ) );
+        Set<Integer> idEntries = listEditRecordValues.stream( ).map( CompleteFormResponseValue::getIdEntry ).collect( Collectors.toSet( ) );
 
         List<Question> listQuestions = findListQuestionUsedCorrectForm( formResponse );
         return listQuestions.stream( ).filter( question -> idEntries.contains( question.getEntry( ).getIdEntry( ) ) ).collect( Collectors.toList( ) );
@@ -238,23 +263,43 @@ public class CompleteFormResponseService extends AbstractFormResponseService imp
         }
     }
 
+    @Override
+    public void doProcessAutomaticActions( CompleteFormResponse completeFormResponse, Locale locale )
+    {
+        ITask task = _taskService.findByPrimaryKey( completeFormResponse.getIdTask( ), locale );
+        CompleteFormResponseTaskConfig config = _taskCompleteResponseConfigService.findByPrimaryKey( completeFormResponse.getIdTask( ) );
+
+        if ( task != null && config != null )
+        {
+            doProcessAutomaticActions( task, config.getIdStateAfterEdition( ), completeFormResponse.getIdHistory( ), locale );
+        }
+    }
+
     @Override
     public void doCompleteResponse( CompleteFormResponse completeFormResponse )
     {
         completeFormResponse.setIsComplete( true );
         completeFormResponse.setDateCompleted( new Date( System.currentTimeMillis( ) ) );
-        update( completeFormResponse );
+
+        // Only the status changes: the values are left untouched
+        _completeFormResponseDAO.store( completeFormResponse, WorkflowUtils.getPlugin( ) );
     }
 
     @Override
-    protected void createTaskHistory( EditableResponse editableResponse, int idTask, int idHistory )
+    protected void createTaskHistories( List<EditableResponse> listChangedResponse, int idTask, int idHistory )
     {
-        CompleteFormResponseTaskHistory history = new CompleteFormResponseTaskHistory( );
-        history.setIdTask( idTask );
-        history.setIdHistory( idHistory );
-        history.setQuestion( editableResponse.getQuestion( ) );
-        history.setNewValue( _formsTaskService.createPreviousNewValue( editableResponse.getResponseFromForm( ) ) );
+        List<CompleteFormResponseTaskHistory> listHistory = new ArrayList<>( );
+
+        for ( EditableResponse editableResponse : listChangedResponse )
+        {
+            CompleteFormResponseTaskHistory history = new CompleteFormResponseTaskHistory( );
+            history.setIdTask( idTask );
+            history.setIdHistory( idHistory );
+            history.setQuestion( editableResponse.getQuestion( ) );
+            history.setNewValue( _formsTaskService.createPreviousNewValue( editableResponse.getResponseFromForm( ) ) );
+            listHistory.add( history );
+        }
 
-        _completeFormResponseTaskHistoryService.create( history );
+        _completeFormResponseTaskHistoryService.createAll( listHistory );
     }
 }
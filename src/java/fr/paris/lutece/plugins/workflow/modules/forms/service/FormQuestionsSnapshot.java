@@ -0,0 +1,236 @@
+/*
+ * Copyright (c) 2002-2021, City of Paris
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ *  1. Redistributions of source code must retain the above copyright notice
+ *     and the following disclaimer.
+ *
+ *  2. Redistributions in binary form must reproduce the above copyright notice
+ *     and the following disclaimer in the documentation and/or other materials
+ *     provided with the distribution.
+ *
+ *  3. Neither the name of 'Mairie de Paris' nor 'Lutece' nor the names of its
+ *     contributors may be used to endorse or promote products derived from
+ *     this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ *
+ * License 1.0
+ */
+package fr.paris.lutece.plugins.workflow.modules.forms.service;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.BeanUtils;
+
+import fr.paris.lutece.plugins.forms.business.Question;
+import fr.paris.lutece.plugins.genericattributes.business.Entry;
+import fr.paris.lutece.plugins.genericattributes.business.Field;
+
+/**
+ * Immutable snapshot of the questions of a form, with the subsets used by the complete and resubmit tasks. The snapshot is shared between all the callers:
+ * it only hands out copies of its questions, of their entries and of the fields of the entries, which the callers are free to modify.
+ */
+public final class FormQuestionsSnapshot
+{
+    private final int _nIdForm;
+    private final List<Question> _listQuestions;
+    private final List<Question> _listQuestionsUsedInCompleteFormResponse;
+    private final List<Question> _listQuestionsUsedInCorrectFormResponse;
+    private final Map<Integer, Question> _mapQuestionsByEntry;
+    private final Map<Integer, Question> _mapQuestionsById;
+
+    /**
+     * Constructor
+     * 
+     * @param nIdForm
+     *            the id of the form
+     * @param listQuestions
+     *            the questions of the form
+     */
+    public FormQuestionsSnapshot( int nIdForm, List<Question> listQuestions )
+    {
+        _nIdForm = nIdForm;
+
+        List<Question> listQuestionsUsedInCompleteFormResponse = new ArrayList<>( );
+        List<Question> listQuestionsUsedInCorrectFormResponse = new ArrayList<>( );
+        Map<Integer, Question> mapQuestionsByEntry = new HashMap<>( );
+        Map<Integer, Question> mapQuestionsById = new HashMap<>( );
+
+        for ( Question question : listQuestions )
+        {
+            mapQuestionsById.put( question.getId( ), question );
+
+            if ( question.getEntry( ) == null )
+            {
+                continue;
+            }
+
+            if ( question.getEntry( ).isUsedInCompleteFormResponse( ) )
+            {
+                listQuestionsUsedInCompleteFormResponse.add( question );
+            }
+            if ( question.getEntry( ).isUsedInCorrectFormResponse( ) )
+            {
+                listQuestionsUsedInCorrectFormResponse.add( question );
+            }
+            mapQuestionsByEntry.putIfAbsent( question.getEntry( ).getIdEntry( ), question );
+        }
+
+        _listQuestions = Collections.unmodifiableList( new ArrayList<>( listQuestions ) );
+        _listQuestionsUsedInCompleteFormResponse = Collections.unmodifiableList( listQuestionsUsedInCompleteFormResponse );
+        _listQuestionsUsedInCorrectFormResponse = Collections.unmodifiableList( listQuestionsUsedInCorrectFormResponse );
+        _mapQuestionsByEntry = Collections.unmodifiableMap( mapQuestionsByEntry );
+        _mapQuestionsById = Collections.unmodifiableMap( mapQuestionsById );
+    }
+
+    /**
+     * @return the id of the form
+     */
+    public int getIdForm( )
+    {
+        return _nIdForm;
+    }
+
+    /**
+     * @return a copy of the questions of the form
+     */
+    public List<Question> getQuestions( )
+    {
+        return copy( _listQuestions );
+    }
+
+    /**
+     * @return a copy of the questions used by the complete form response task
+     */
+    public List<Question> getQuestionsUsedInCompleteFormResponse( )
+    {
+        return copy( _listQuestionsUsedInCompleteFormResponse );
+    }
+
+    /**
+     * @return a copy of the questions used by the resubmit form response task
+     */
+    public List<Question> getQuestionsUsedInCorrectFormResponse( )
+    {
+        return copy( _listQuestionsUsedInCorrectFormResponse );
+    }
+
+    /**
+     * Gives the question of the specified entry
+     * 
+     * @param nIdEntry
+     *            the id of the entry
+     * @return a copy of the question, or null if no question of the form uses this entry
+     */
+    public Question getQuestionByEntry( int nIdEntry )
+    {
+        return copy( _mapQuestionsByEntry.get( nIdEntry ) );
+    }
+
+    /**
+     * Gives the question with the specified id
+     * 
+     * @param nIdQuestion
+     *            the id of the question
+     * @return a copy of the question, or null if the form has no question with this id
+     */
+    public Question getQuestion( int nIdQuestion )
+    {
+        return copy( _mapQuestionsById.get( nIdQuestion ) );
+    }
+
+    /**
+     * Copy a list of questions
+     * 
+     * @param listQuestions
+     *            the questions
+     * @return a modifiable list of the copies of the questions
+     */
+    private static List<Question> copy( List<Question> listQuestions )
+    {
+        return listQuestions.stream( ).map( FormQuestionsSnapshot::copy ).collect( Collectors.toCollection( ArrayList::new ) );
+    }
+
+    /**
+     * Copy a question and its entry
+     * 
+     * @param question
+     *            the question. May be null
+     * @return the copy of the question, or null if the question is null
+     */
+    private static Question copy( Question question )
+    {
+        if ( question == null )
+        {
+            return null;
+        }
+
+        Question questionCopy = new Question( );
+        BeanUtils.copyProperties( question, questionCopy );
+        questionCopy.setEntry( copy( question.getEntry( ) ) );
+
+        return questionCopy;
+    }
+
+    /**
+     * Copy an entry, with copies of its fields and of its children
+     * 
+     * @param entry
+     *            the entry. May be null
+     * @return the copy of the entry, or null if the entry is null
+     */
+    private static Entry copy( Entry entry )
+    {
+        if ( entry == null )
+        {
+            return null;
+        }
+
+        Entry entryCopy = new Entry( );
+        BeanUtils.copyProperties( entry, entryCopy );
+
+        if ( entry.getFields( ) != null )
+        {
+            List<Field> listFieldsCopy = new ArrayList<>( entry.getFields( ).size( ) );
+            for ( Field field : entry.getFields( ) )
+            {
+                Field fieldCopy = new Field( );
+                BeanUtils.copyProperties( field, fieldCopy );
+                listFieldsCopy.add( fieldCopy );
+            }
+            entryCopy.setFields( listFieldsCopy );
+        }
+
+        if ( entry.getChildren( ) != null )
+        {
+            List<Entry> listChildrenCopy = new ArrayList<>( entry.getChildren( ).size( ) );
+            for ( Entry child : entry.getChildren( ) )
+            {
+                listChildrenCopy.add( copy( child ) );
+            }
+            entryCopy.setChildren( listChildrenCopy );
+        }
+
+        return entryCopy;
+    }
+}
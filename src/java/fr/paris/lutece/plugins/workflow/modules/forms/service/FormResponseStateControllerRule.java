@@ -0,0 +1,159 @@
+/*
+ * Copyright (c) 2002-2021, City of Paris
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ *  1. Redistributions of source code must retain the above copyright notice
+ *     and the following disclaimer.
+ *
+ *  2. Redistributions in binary form must reproduce the above copyright notice
+ *     and the following disclaimer in the documentation and/or other materials
+ *     provided with the distribution.
+ *
+ *  3. Neither the name of 'Mairie de Paris' nor 'Lutece' nor the names of its
+ *     contributors may be used to endorse or promote products derived from
+ *     this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ *
+ * License 1.0
+ */
+package fr.paris.lutece.plugins.workflow.modules.forms.service;
+
+import org.apache.commons.lang3.StringUtils;
+
+import fr.paris.lutece.plugins.genericattributes.business.Response;
+import fr.paris.lutece.plugins.workflow.modules.forms.business.FormResponseValueStateControllerConfig;
+
+/**
+ * Immutable rule evaluated by a form response state controller, compiled from a {@link FormResponseValueStateControllerConfig}
+ */
+public final class FormResponseStateControllerRule
+{
+    /**
+     * The predicate applied to the response of the question
+     */
+    public enum RulePredicate
+    {
+        /**
+         * The response value must be equal to the expected value
+         */
+        VALUE_EQUALS,
+
+        /**
+         * The response must have a value or a file
+         */
+        VALUE_EXISTS
+    }
+
+    private final int _nIdQuestion;
+    private final String _strExpectedValue;
+    private final RulePredicate _predicate;
+
+    /**
+     * Constructor
+     * 
+     * @param nIdQuestion
+     *            the id of the question, or -1 if no question is configured
+     * @param strExpectedValue
+     *            the expected value
+     * @param predicate
+     *            the predicate
+     */
+    public FormResponseStateControllerRule( int nIdQuestion, String strExpectedValue, RulePredicate predicate )
+    {
+        _nIdQuestion = nIdQuestion;
+        _strExpectedValue = strExpectedValue;
+        _predicate = predicate;
+    }
+
+    /**
+     * Compile the rule of a config
+     * 
+     * @param config
+     *            the config
+     * @param predicate
+     *            the predicate
+     * @return the rule
+     */
+    public static FormResponseStateControllerRule compile( FormResponseValueStateControllerConfig config, RulePredicate predicate )
+    {
+        int nIdQuestion = config.getQuestion( ) != null ? config.getQuestion( ).getId( ) : -1;
+
+        return new FormResponseStateControllerRule( nIdQuestion, config.getValue( ), predicate );
+    }
+
+    /**
+     * @return the id of the question, or -1 if no question is configured
+     */
+    public int getIdQuestion( )
+    {
+        return _nIdQuestion;
+    }
+
+    /**
+     * @return the expected value
+     */
+    public String getExpectedValue( )
+    {
+        return _strExpectedValue;
+    }
+
+    /**
+     * @return the predicate
+     */
+    public RulePredicate getPredicate( )
+    {
+        return _predicate;
+    }
+
+    /**
+     * Tells if the rule can match a response. A rule without question, or a value rule without expected value, never matches.
+     * 
+     * @return true if the rule can match a response, false otherwise
+     */
+    public boolean isEvaluable( )
+    {
+        if ( _nIdQuestion == -1 )
+        {
+            return false;
+        }
+
+        return _predicate != RulePredicate.VALUE_EQUALS || StringUtils.isNotEmpty( _strExpectedValue );
+    }
+
+    /**
+     * Evaluate the rule on a response
+     * 
+     * @param response
+     *            the response of the question. May be null
+     * @return true if the response matches the rule, false otherwise
+     */
+    public boolean matches( Response response )
+    {
+        if ( !isEvaluable( ) || response == null )
+        {
+            return false;
+        }
+
+        if ( _predicate == RulePredicate.VALUE_EQUALS )
+        {
+            return _strExpectedValue.equals( response.getResponseValue( ) );
+        }
+
+        return StringUtils.isNotEmpty( response.getResponseValue( ) ) || response.getFile( ) != null;
+    }
+}
@@ -39,16 +39,14 @@ import java.util.Map;
 
 import javax.servlet.http.HttpServletRequest;
 
-import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.math.NumberUtils;
 
 import fr.paris.lutece.plugins.forms.business.FormHome;
 import fr.paris.lutece.plugins.forms.business.Question;
 import fr.paris.lutece.plugins.forms.business.QuestionHome;
 import fr.paris.lutece.plugins.forms.business.StepHome;
-import fr.paris.lutece.plugins.genericattributes.business.Response;
 import fr.paris.lutece.plugins.workflow.modules.forms.business.FormResponseValueStateControllerConfig;
-import fr.paris.lutece.plugins.workflow.modules.forms.business.FormResponseValueStateControllerConfigHome;
+import fr.paris.lutece.plugins.workflow.modules.forms.service.FormResponseStateControllerRule.RulePredicate;
 import fr.paris.lutece.plugins.workflowcore.business.config.ITaskConfig;
 import fr.paris.lutece.plugins.workflowcore.service.task.ITask;
 import fr.paris.lutece.portal.service.template.AppTemplateService;
@@ -100,18 +98,6 @@ public class FormResponseValueExistsStateController extends AbstractFormResponse
         return BEAN_NAME;
     }
 
-    @Override
-    public boolean control( ITask task, int nIdResource, String strResourceType )
-    {
-        FormResponseValueStateControllerConfig config = loadConfig( task.getId( ) );
-        Response response = getResponseFromQuestionAndFormResponse( config.getQuestion( ).getId( ), nIdResource );
-        if ( response == null )
-        {
-            return false;
-        }
-        return StringUtils.isNotEmpty( response.getResponseValue( ) ) || response.getFile( ) != null;
-    }
-
     @Override
     public void doSaveConfig( HttpServletRequest request, Locale locale, ITask task )
     {
@@ -142,7 +128,7 @@ public class FormResponseValueExistsStateController extends AbstractFormResponse
             controllerConfig.setQuestion( QuestionHome.findByPrimaryKey( Integer.parseInt( request.getParameter( PARAMETER_QUESTION ) ) ) );
         }
         controllerConfig.setValue( null );
-        FormResponseValueStateControllerConfigHome.update( controllerConfig );
+        saveConfig( controllerConfig );
     }
 
     @Override
@@ -176,4 +162,10 @@ public class FormResponseValueExistsStateController extends AbstractFormResponse
     {
         return true;
     }
+
+    @Override
+    protected RulePredicate getRulePredicate( )
+    {
+        return RulePredicate.VALUE_EXISTS;
+    }
 }
@@ -49,11 +49,10 @@ import fr.paris.lutece.plugins.forms.service.entrytype.EntryTypeCheckBox;
 import fr.paris.lutece.plugins.forms.service.entrytype.EntryTypeRadioButton;
 import fr.paris.lutece.plugins.forms.service.entrytype.EntryTypeSelect;
 import fr.paris.lutece.plugins.genericattributes.business.Field;
-import fr.paris.lutece.plugins.genericattributes.business.Response;
 import fr.paris.lutece.plugins.genericattributes.service.entrytype.EntryTypeServiceManager;
 import fr.paris.lutece.plugins.genericattributes.service.entrytype.IEntryTypeService;
 import fr.paris.lutece.plugins.workflow.modules.forms.business.FormResponseValueStateControllerConfig;
-import fr.paris.lutece.plugins.workflow.modules.forms.business.FormResponseValueStateControllerConfigHome;
+import fr.paris.lutece.plugins.workflow.modules.forms.service.FormResponseStateControllerRule.RulePredicate;
 import fr.paris.lutece.plugins.workflowcore.business.config.ITaskConfig;
 import fr.paris.lutece.plugins.workflowcore.service.task.ITask;
 import fr.paris.lutece.portal.service.template.AppTemplateService;
@@ -109,23 +108,6 @@ public class FormResponseValueStateController extends AbstractFormResponseStateC
         return BEAN_NAME;
     }
 
-    @Override
-    public boolean control( ITask task, int nIdResource, String strResourceType )
-    {
-        FormResponseValueStateControllerConfig config = loadConfig( task.getId( ) );
-        if ( StringUtils.isEmpty( config.getValue( ) ) )
-        {
-            return false;
-        }
-
-        Response response = getResponseFromQuestionAndFormResponse( config.getQuestion( ).getId( ), nIdResource );
-        if ( response == null )
-        {
-            return false;
-        }
-        return config.getValue( ).equals( response.getResponseValue( ) );
-    }
-
     @Override
     public void doSaveConfig( HttpServletRequest request, Locale locale, ITask task )
     {
@@ -152,7 +134,7 @@ public class FormResponseValueStateController extends AbstractFormResponseStateC
             }
         }
         controllerConfig.setValue( request.getParameter( PARAMETER_VALUE ) );
-        FormResponseValueStateControllerConfigHome.update( controllerConfig );
+        saveConfig( controllerConfig );
     }
 
     @Override
@@ -211,4 +193,10 @@ public class FormResponseValueStateController extends AbstractFormResponseStateC
         }
         return refList;
     }
+
+    @Override
+    protected RulePredicate getRulePredicate( )
+    {
+        return RulePredicate.VALUE_EQUALS;
+    }
 }
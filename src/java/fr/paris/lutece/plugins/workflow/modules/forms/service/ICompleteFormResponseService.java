@@ -155,6 +155,16 @@ public interface ICompleteFormResponseService
      */
     void doChangeResponseState( CompleteFormResponse completeFormResponse, Locale locale );
 
+    /**
+     * Run the automatic actions of the state reached by the Response, once its change of state is committed
+     * 
+     * @param completeFormResponse
+     *            the response
+     * @param locale
+     *            the locale
+     */
+    void doProcessAutomaticActions( CompleteFormResponse completeFormResponse, Locale locale );
+
     /**
      * Do change the Response to complete
      * 
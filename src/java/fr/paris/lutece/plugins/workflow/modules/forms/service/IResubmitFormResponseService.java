@@ -169,6 +169,16 @@ public interface IResubmitFormResponseService
      */
     void doChangeResponseState( ResubmitFormResponse resubmitFormResponse, Locale locale );
 
+    /**
+     * Run the automatic actions of the state reached by the Response, once its change of state is committed
+     * 
+     * @param resubmitFormResponse
+     *            the response
+     * @param locale
+     *            the locale
+     */
+    void doProcessAutomaticActions( ResubmitFormResponse resubmitFormResponse, Locale locale );
+
     /**
      * Do change the Response to complete
      * 
@@ -35,8 +35,12 @@ package fr.paris.lutece.plugins.workflow.modules.forms.service;
 
 import java.sql.Date;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 import javax.inject.Inject;
@@ -46,15 +50,12 @@ import javax.servlet.http.HttpServletRequest;
 import org.apache.commons.collections.CollectionUtils;
 
 import fr.paris.lutece.plugins.forms.business.Form;
-import fr.paris.lutece.plugins.forms.business.FormHome;
 import fr.paris.lutece.plugins.forms.business.FormQuestionResponse;
 import fr.paris.lutece.plugins.forms.business.FormQuestionResponseHome;
 import fr.paris.lutece.plugins.forms.business.FormResponse;
 import fr.paris.lutece.plugins.forms.business.IFormResponseDAO;
 import fr.paris.lutece.plugins.forms.business.Question;
-import fr.paris.lutece.plugins.forms.business.QuestionHome;
 import fr.paris.lutece.plugins.genericattributes.business.Entry;
-import fr.paris.lutece.plugins.genericattributes.business.EntryHome;
 import fr.paris.lutece.plugins.genericattributes.business.IEntryDAO;
 import fr.paris.lutece.plugins.workflow.modules.forms.business.IResubmitFormResponseDAO;
 import fr.paris.lutece.plugins.workflow.modules.forms.business.IResubmitFormResponseValueDAO;
@@ -62,6 +63,7 @@ import fr.paris.lutece.plugins.workflow.modules.forms.business.ResubmitFormRespo
 import fr.paris.lutece.plugins.workflow.modules.forms.business.ResubmitFormResponseTaskConfig;
 import fr.paris.lutece.plugins.workflow.modules.forms.business.ResubmitFormResponseTaskHistory;
 import fr.paris.lutece.plugins.workflow.modules.forms.business.ResubmitFormResponseValue;
+import fr.paris.lutece.plugins.workflow.modules.forms.service.cache.FormQuestionsCacheService;
 import fr.paris.lutece.plugins.workflow.modules.forms.service.task.IResubmitFormResponseTaskHistoryService;
 import fr.paris.lutece.plugins.workflow.modules.forms.utils.EditableResponse;
 import fr.paris.lutece.plugins.workflow.utils.WorkflowUtils;
@@ -71,6 +73,7 @@ import fr.paris.lutece.plugins.workflowcore.service.task.ITaskService;
 import fr.paris.lutece.portal.service.message.SiteMessage;
 import fr.paris.lutece.portal.service.message.SiteMessageException;
 import fr.paris.lutece.portal.service.plugin.Plugin;
+import fr.paris.lutece.portal.service.util.AppPropertiesService;
 
 /**
  * Implements IResubmitResponseService
@@ -80,6 +83,8 @@ public class ResubmitFormResponseService extends AbstractFormResponseService imp
 
     private static final String MESSAGE_APP_ERROR = "module.workflow.forms.message.app_error";
     private static final String PARAMETER_URL_RETURN = "url_return";
+    private static final String PROPERTY_REMOVE_CHUNK_SIZE = "workflow-forms.remove.chunk_size";
+    private static final int DEFAULT_REMOVE_CHUNK_SIZE = 1000;
 
     @Inject
     private ITaskService _taskService;
@@ -122,18 +127,10 @@ public class ResubmitFormResponseService extends AbstractFormResponseService imp
     {
         Plugin plugin = WorkflowUtils.getPlugin( );
 
-        List<ResubmitFormResponseValue> listEditRecordValues = _resubmitFormResponseValueDAO.load( nIdHistory, plugin );
-        List<Entry> listEntries = new ArrayList<>( );
-        for ( ResubmitFormResponseValue value : listEditRecordValues )
-        {
-            Entry entry = _entryDAO.load( value.getIdEntry( ), plugin );
+        List<Integer> listIdEntry = _resubmitFormResponseValueDAO.load( nIdHistory, plugin ).stream( ).map( ResubmitFormResponseValue::getIdEntry )
+                .collect( Collectors.toList( ) );
 
-            if ( entry != null )
-            {
-                listEntries.add( entry );
-            }
-        }
-        return listEntries;
+        return findEntries( nIdHistory, listIdEntry, nIdEntry -> _entryDAO.load( nIdEntry, plugin ) );
     }
 
     @Override
@@ -147,19 +144,21 @@ public class ResubmitFormResponseService extends AbstractFormResponseService imp
     @Override
     public List<Question> findListQuestionUsedCorrectForm( FormResponse formResponse )
     {
-        Form form = FormHome.findByPrimaryKey( formResponse.getFormId( ) );
-        List<Question> listFormQuestion = QuestionHome.getListQuestionByIdForm( form.getId( ) );
-
-        listFormQuestion = listFormQuestion.stream( ).filter( question -> question.getEntry( ).isUsedInCorrectFormResponse( ) ).collect( Collectors.toList( ) );
+        List<Question> listFormQuestion = FormQuestionsCacheService.getInstance( ).getSnapshot( formResponse.getFormId( ) )
+                .getQuestionsUsedInCorrectFormResponse( );
 
-        List<FormQuestionResponse> listFormQuestionResponses = FormQuestionResponseHome.getFormQuestionResponseListByFormResponse( formResponse.getId( ) );
+        // First response of each question
+        Map<Integer, FormQuestionResponse> mapFormQuestionResponses = new HashMap<>( );
+        for ( FormQuestionResponse formQuestionResponse : FormQuestionResponseHome.getFormQuestionResponseListByFormResponse( formResponse.getId( ) ) )
+        {
+            mapFormQuestionResponses.putIfAbsent( formQuestionResponse.getQuestion( ).getId( ), formQuestionResponse );
+        }
 
         List<Question> listQuestionWithResponse = new ArrayList<>( );
 
         for ( Question question : listFormQuestion )
         {
-            FormQuestionResponse formQuestionResponse = listFormQuestionResponses.stream( ).filter( fqr -> fqr.getQuestion( ).getId( ) == question.getId( ) )
-                    .findFirst( ).orElse( null );
+            FormQuestionResponse formQuestionResponse = mapFormQuestionResponses.get( question.getId( ) );
 
             if ( formQuestionResponse != null && CollectionUtils.isNotEmpty( formQuestionResponse.getEntryResponse( ) ) )
             {
@@ -186,13 +185,16 @@ public class ResubmitFormResponseService extends AbstractFormResponseService imp
     public void removeByIdTask( int nIdTask )
     {
         Plugin plugin = WorkflowUtils.getPlugin( );
-        List<ResubmitFormResponse> listResponse = _resubmitFormResponseDAO.loadByIdTask( nIdTask, plugin );
-        for ( ResubmitFormResponse editRecord : listResponse )
+        int nChunkSize = Math.max( 1, AppPropertiesService.getPropertyInt( PROPERTY_REMOVE_CHUNK_SIZE, DEFAULT_REMOVE_CHUNK_SIZE ) );
+
+        // Remove the responses and their values chunk by chunk, so that a task which has run many times does not hold a single huge delete
+        List<Integer> listIdHistory = _resubmitFormResponseDAO.loadIdHistoryByIdTask( nIdTask, -1, nChunkSize, plugin );
+        while ( !listIdHistory.isEmpty( ) )
         {
-            _resubmitFormResponseValueDAO.delete( editRecord.getIdHistory( ), plugin );
+            _resubmitFormResponseValueDAO.deleteByIdHistoryList( listIdHistory, plugin );
+            _resubmitFormResponseDAO.deleteByIdHistoryList( nIdTask, listIdHistory, plugin );
+            listIdHistory = _resubmitFormResponseDAO.loadIdHistoryByIdTask( nIdTask, listIdHistory.get( listIdHistory.size( ) - 1 ), nChunkSize, plugin );
         }
-
-        _resubmitFormResponseDAO.deleteByIdTask( nIdTask, plugin );
     }
 
     @Override
@@ -203,11 +205,7 @@ public class ResubmitFormResponseService extends AbstractFormResponseService imp
             Plugin plugin = WorkflowUtils.getPlugin( );
             _resubmitFormResponseDAO.insert( resubmitFormResponse, plugin );
 
-            for ( ResubmitFormResponseValue value : resubmitFormResponse.getListResubmitReponseValues( ) )
-            {
-                value.setIdHistory( resubmitFormResponse.getIdHistory( ) );
-                _resubmitFormResponseValueDAO.insert( value, plugin );
-            }
+            _resubmitFormResponseValueDAO.insertAll( resubmitFormResponse.getIdHistory( ), resubmitFormResponse.getListResubmitReponseValues( ), plugin );
         }
     }
 
@@ -218,15 +216,47 @@ public class ResubmitFormResponseService extends AbstractFormResponseService imp
         {
             Plugin plugin = WorkflowUtils.getPlugin( );
             _resubmitFormResponseDAO.store( resubmitFormResponse, plugin );
-            // Remove its edit record values first
-            _resubmitFormResponseValueDAO.delete( resubmitFormResponse.getIdHistory( ), plugin );
+            updateValues( resubmitFormResponse.getIdHistory( ), resubmitFormResponse.getListResubmitReponseValues( ), plugin );
+        }
+    }
 
-            for ( ResubmitFormResponseValue value : resubmitFormResponse.getListResubmitReponseValues( ) )
+    /**
+     * Update the values of a history, by writing only the entries which have been added or removed
+     * 
+     * @param nIdHistory
+     *            the id history
+     * @param listValues
+     *            the new values
+     * @param plugin
+     *            the plugin
+     */
+    private void updateValues( int nIdHistory, List<ResubmitFormResponseValue> listValues, Plugin plugin )
+    {
+        Set<Integer> setStoredIdEntry = new HashSet<>( );
+        for ( ResubmitFormResponseValue storedValue : _resubmitFormResponseValueDAO.load( nIdHistory, plugin ) )
+        {
+            setStoredIdEntry.add( storedValue.getIdEntry( ) );
+        }
+
+        Set<Integer> setIdEntry = new HashSet<>( );
+        List<ResubmitFormResponseValue> listValuesToInsert = new ArrayList<>( );
+        if ( listValues != null )
+        {
+            for ( ResubmitFormResponseValue value : listValues )
             {
-                value.setIdHistory( resubmitFormResponse.getIdHistory( ) );
-                _resubmitFormResponseValueDAO.insert( value, plugin );
+                value.setIdHistory( nIdHistory );
+                if ( setIdEntry.add( value.getIdEntry( ) ) && !setStoredIdEntry.contains( value.getIdEntry( ) ) )
+                {
+                    listValuesToInsert.add( value );
+                }
             }
         }
+
+        List<Integer> listIdEntryToDelete = new ArrayList<>( setStoredIdEntry );
+        listIdEntryToDelete.removeAll( setIdEntry );
+
+        _resubmitFormResponseValueDAO.deleteAll( nIdHistory, listIdEntryToDelete, plugin );
+        _resubmitFormResponseValueDAO.insertAll( nIdHistory, listValuesToInsert, plugin );
     }
 
     @Override
@@ -241,13 +271,7 @@ public class ResubmitFormResponseService extends AbstractFormResponseService imp
     @Override
     public List<Question> getListQuestionToEdit( FormResponse formResponse, List<ResubmitFormResponseValue> listEditRecordValues )
     {
-        List<Entry> listEntries = new ArrayList<>( );
-        for ( ResubmitFormResponseValue value : listEditRecordValues )
-        {
-            Entry entry = EntryHome.findByPrimaryKey( value.getIdEntry( ) );
-            listEntries.add( entry );
-        }
-        List<Integer> idEntries = listEntries.stream( ).map( Entry::getIdEntry ).collect( Collectors.toList( ) );
+        Set<Integer> idEntries = listEditRecordValues.stream( ).map( ResubmitFormResponseValue::getIdEntry ).collect( Collectors.toSet( ) );
 
         List<Question> listQuestions = findListQuestionUsedCorrectForm( formResponse );
         return listQuestions.stream( ).filter( question -> idEntries.contains( question.getEntry( ).getIdEntry( ) ) ).collect( Collectors.toList( ) );
@@ -271,16 +295,22 @@ public class ResubmitFormResponseService extends AbstractFormResponseService imp
     }
 
     @Override
-    protected void createTaskHistory( EditableResponse editableResponse, int idTask, int idHistory )
+    protected void createTaskHistories( List<EditableResponse> listChangedResponse, int idTask, int idHistory )
     {
-        ResubmitFormResponseTaskHistory history = new ResubmitFormResponseTaskHistory( );
-        history.setIdTask( idTask );
-        history.setIdHistory( idHistory );
-        history.setQuestion( editableResponse.getQuestion( ) );
-        history.setPreviousValue( _formsTaskService.createPreviousNewValue( editableResponse.getResponseSaved( ) ) );
-        history.setNewValue( _formsTaskService.createPreviousNewValue( editableResponse.getResponseFromForm( ) ) );
-
-        _resubmitFormResponseTaskHistoryService.create( history );
+        List<ResubmitFormResponseTaskHistory> listHistory = new ArrayList<>( );
+
+        for ( EditableResponse editableResponse : listChangedResponse )
+        {
+            ResubmitFormResponseTaskHistory history = new ResubmitFormResponseTaskHistory( );
+            history.setIdTask( idTask );
+            history.setIdHistory( idHistory );
+            history.setQuestion( editableResponse.getQuestion( ) );
+            history.setPreviousValue( _formsTaskService.createPreviousNewValue( editableResponse.getResponseSaved( ) ) );
+            history.setNewValue( _formsTaskService.createPreviousNewValue( editableResponse.getResponseFromForm( ) ) );
+            listHistory.add( history );
+        }
+
+        _resubmitFormResponseTaskHistoryService.createAll( listHistory );
     }
 
     @Override
@@ -295,11 +325,25 @@ public class ResubmitFormResponseService extends AbstractFormResponseService imp
         }
     }
 
+    @Override
+    public void doProcessAutomaticActions( ResubmitFormResponse resubmitFormResponse, Locale locale )
+    {
+        ITask task = _taskService.findByPrimaryKey( resubmitFormResponse.getIdTask( ), locale );
+        ResubmitFormResponseTaskConfig config = _taskResubmitResponseConfigService.findByPrimaryKey( resubmitFormResponse.getIdTask( ) );
+
+        if ( task != null && config != null )
+        {
+            doProcessAutomaticActions( task, config.getIdStateAfterEdition( ), resubmitFormResponse.getIdHistory( ), locale );
+        }
+    }
+
     @Override
     public void doCompleteResponse( ResubmitFormResponse resubmitFormResponse )
     {
         resubmitFormResponse.setIsComplete( true );
         resubmitFormResponse.setDateCompleted( new Date( System.currentTimeMillis( ) ) );
-        update( resubmitFormResponse );
+
+        // Only the status changes: the values are left untouched
+        _resubmitFormResponseDAO.store( resubmitFormResponse, WorkflowUtils.getPlugin( ) );
     }
 }
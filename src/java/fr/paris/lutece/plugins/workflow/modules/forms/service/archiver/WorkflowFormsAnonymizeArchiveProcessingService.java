@@ -47,7 +47,10 @@ import fr.paris.lutece.plugins.genericattributes.service.anonymization.IEntryAno
 import fr.paris.lutece.plugins.genericattributes.service.entrytype.EntryTypeServiceManager;
 import fr.paris.lutece.plugins.genericattributes.service.entrytype.IEntryTypeService;
 import fr.paris.lutece.plugins.workflow.modules.archive.service.AbstractArchiveProcessingService;
+import fr.paris.lutece.plugins.workflow.modules.forms.service.cache.TaskInformationCacheService;
+import fr.paris.lutece.plugins.workflowcore.business.resource.ResourceHistory;
 import fr.paris.lutece.plugins.workflowcore.business.resource.ResourceWorkflow;
+import fr.paris.lutece.plugins.workflowcore.service.resource.IResourceHistoryService;
 
 /**
  * Service for archival of type delete of plugin-workflow.
@@ -59,6 +62,9 @@ public class WorkflowFormsAnonymizeArchiveProcessingService extends AbstractArch
     @Inject
     private FormService _formService;
 
+    @Inject
+    private IResourceHistoryService _resourceHistoryService;
+
     @Override
     public void archiveResource( ResourceWorkflow resourceWorkflow )
     {
@@ -87,5 +93,21 @@ public class WorkflowFormsAnonymizeArchiveProcessingService extends AbstractArch
         }
 
         _formService.fireFormResponseEventUpdate( formResponse );
+        removeTaskInformation( resourceWorkflow );
+    }
+
+    /**
+     * Evicts the rendered task information panels of the archived resource
+     * 
+     * @param resourceWorkflow
+     *            the archived resource
+     */
+    private void removeTaskInformation( ResourceWorkflow resourceWorkflow )
+    {
+        for ( ResourceHistory resourceHistory : _resourceHistoryService.getAllHistoryByResource( resourceWorkflow.getIdResource( ),
+                resourceWorkflow.getResourceType( ), resourceWorkflow.getWorkflow( ).getId( ) ) )
+        {
+            TaskInformationCacheService.getInstance( ).removeTaskInformation( resourceHistory.getId( ) );
+        }
     }
 }
@@ -42,7 +42,10 @@ import fr.paris.lutece.plugins.forms.business.FormResponseHome;
 import fr.paris.lutece.plugins.forms.business.FormResponseStepHome;
 import fr.paris.lutece.plugins.forms.service.FormService;
 import fr.paris.lutece.plugins.workflow.modules.archive.service.AbstractArchiveProcessingService;
+import fr.paris.lutece.plugins.workflow.modules.forms.service.cache.TaskInformationCacheService;
+import fr.paris.lutece.plugins.workflowcore.business.resource.ResourceHistory;
 import fr.paris.lutece.plugins.workflowcore.business.resource.ResourceWorkflow;
+import fr.paris.lutece.plugins.workflowcore.service.resource.IResourceHistoryService;
 
 /**
  * Service for archival of type delete of plugin-workflow.
@@ -54,6 +57,9 @@ public class WorkflowFormsDeleteArchiveProcessingService extends AbstractArchive
     @Inject
     private FormService _formService;
 
+    @Inject
+    private IResourceHistoryService _resourceHistoryService;
+
     @Override
     public void archiveResource( ResourceWorkflow resourceWorkflow )
     {
@@ -70,5 +76,21 @@ public class WorkflowFormsDeleteArchiveProcessingService extends AbstractArchive
         FormResponseHome.remove( formResponseId );
 
         _formService.fireFormResponseEventDelete( formResponse );
+        removeTaskInformation( resourceWorkflow );
+    }
+
+    /**
+     * Evicts the rendered task information panels of the archived resource
+     * 
+     * @param resourceWorkflow
+     *            the archived resource
+     */
+    private void removeTaskInformation( ResourceWorkflow resourceWorkflow )
+    {
+        for ( ResourceHistory resourceHistory : _resourceHistoryService.getAllHistoryByResource( resourceWorkflow.getIdResource( ),
+                resourceWorkflow.getResourceType( ), resourceWorkflow.getWorkflow( ).getId( ) ) )
+        {
+            TaskInformationCacheService.getInstance( ).removeTaskInformation( resourceHistory.getId( ) );
+        }
     }
 }
@@ -0,0 +1,281 @@
+/*
+ * Copyright (c) 2002-2021, City of Paris
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ *  1. Redistributions of source code must retain the above copyright notice
+ *     and the following disclaimer.
+ *
+ *  2. Redistributions in binary form must reproduce the above copyright notice
+ *     and the following disclaimer in the documentation and/or other materials
+ *     provided with the distribution.
+ *
+ *  3. Neither the name of 'Mairie de Paris' nor 'Lutece' nor the names of its
+ *     contributors may be used to endorse or promote products derived from
+ *     this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ *
+ * License 1.0
+ */
+package fr.paris.lutece.plugins.workflow.modules.forms.service.cache;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import fr.paris.lutece.portal.service.cache.AbstractCacheableService;
+
+/**
+ * Base class of the caches of the module.
+ * <p>
+ * The cache is versioned: every invalidation increments a version number, and a value loaded while an invalidation was running is not put in the cache.
+ * When the invalidation happens inside a transaction, the key is evicted again once the transaction is completed so that a concurrent reader cannot keep
+ * the value read before the commit. Spring transactions are followed through their synchronization, while a transaction of the Lutece TransactionManager
+ * must be surrounded by {@link #beginDeferredEvictions()} and {@link #endDeferredEvictions()}. Missing values can also be cached, so that looking up
+ * something which does not exist does not hit the database each time. Hit and miss counters are kept for monitoring purpose.
+ * </p>
+ */
+public abstract class AbstractWorkflowFormsCacheService extends AbstractCacheableService
+{
+    private static final Serializable MISSING_VALUE = new MissingValue( );
+    private static final ThreadLocal<List<Runnable>> _tlDeferredEvictions = new ThreadLocal<>( );
+
+    private final AtomicLong _lVersion = new AtomicLong( );
+    private final AtomicLong _lHitCount = new AtomicLong( );
+    private final AtomicLong _lMissCount = new AtomicLong( );
+
+    /**
+     * Constructor
+     */
+    protected AbstractWorkflowFormsCacheService( )
+    {
+        initCache( );
+    }
+
+    /**
+     * Get a value from the cache, or load it and put it in the cache if it is not found
+     * 
+     * @param strKey
+     *            the cache key
+     * @param loader
+     *            the loader of the value if it is not in the cache
+     * @param <T>
+     *            the type of the value
+     * @return the value, or null if the loader returns null
+     */
+    protected <T> T getOrLoad( String strKey, Supplier<T> loader )
+    {
+        return getOrLoad( strKey, loader, false );
+    }
+
+    /**
+     * Get a value from the cache, or load it and put it in the cache if it is not found
+     * 
+     * @param strKey
+     *            the cache key
+     * @param loader
+     *            the loader of the value if it is not in the cache
+     * @param bCacheMissingValue
+     *            true if a null value returned by the loader must be cached, false otherwise
+     * @param <T>
+     *            the type of the value
+     * @return the value, or null if the loader returns null
+     */
+    protected <T> T getOrLoad( String strKey, Supplier<T> loader, boolean bCacheMissingValue )
+    {
+        return getOrLoad( strKey, loader, value -> value != null || bCacheMissingValue );
+    }
+
+    /**
+     * Get a value from the cache, or load it and put it in the cache if it is not found and if it can be cached
+     * 
+     * @param strKey
+     *            the cache key
+     * @param loader
+     *            the loader of the value if it is not in the cache
+     * @param cacheable
+     *            tells if a loaded value can be put in the cache. A null value is cached as a missing value
+     * @param <T>
+     *            the type of the value
+     * @return the value, or null if the loader returns null
+     */
+    @SuppressWarnings( "unchecked" )
+    protected <T> T getOrLoad( String strKey, Supplier<T> loader, Predicate<T> cacheable )
+    {
+        Object cachedValue = getFromCache( strKey );
+
+        if ( cachedValue != null )
+        {
+            _lHitCount.incrementAndGet( );
+
+            return cachedValue instanceof MissingValue ? null : (T) cachedValue;
+        }
+
+        _lMissCount.incrementAndGet( );
+
+        long lVersion = _lVersion.get( );
+        T value = loader.get( );
+
+        if ( cacheable.test( value ) && lVersion == _lVersion.get( ) )
+        {
+            putInCache( strKey, value != null ? value : MISSING_VALUE );
+        }
+
+        return value;
+    }
+
+    /**
+     * Remove a key from the cache
+     * 
+     * @param strKey
+     *            the cache key
+     */
+    protected void invalidate( String strKey )
+    {
+        evict( ( ) -> removeKey( strKey ) );
+    }
+
+    /**
+     * Remove the keys matching a filter from the cache
+     * 
+     * @param keyFilter
+     *            the filter of the keys to remove
+     */
+    protected void invalidateKeys( Predicate<String> keyFilter )
+    {
+        evict( ( ) -> {
+            for ( Object key : getKeys( ) )
+            {
+                String strKey = String.valueOf( key );
+                if ( keyFilter.test( strKey ) )
+                {
+                    removeKey( strKey );
+                }
+            }
+        } );
+    }
+
+    /**
+     * Run an eviction, now and once the current transaction is completed
+     * 
+     * @param eviction
+     *            the eviction
+     */
+    private void evict( Runnable eviction )
+    {
+        Runnable evictionAfterCompletion = ( ) -> {
+            _lVersion.incrementAndGet( );
+            eviction.run( );
+        };
+        evictionAfterCompletion.run( );
+
+        if ( TransactionSynchronizationManager.isSynchronizationActive( ) )
+        {
+            TransactionSynchronizationManager.registerSynchronization( new TransactionSynchronizationAdapter( )
+            {
+                @Override
+                public void afterCompletion( int nStatus )
+                {
+                    evictionAfterCompletion.run( );
+                }
+            } );
+        }
+
+        List<Runnable> listDeferredEvictions = _tlDeferredEvictions.get( );
+        if ( listDeferredEvictions != null )
+        {
+            listDeferredEvictions.add( evictionAfterCompletion );
+        }
+    }
+
+    /**
+     * Start to record the evictions of the current thread, so that they are run again once a transaction which is not managed by Spring, such as a
+     * transaction of the Lutece TransactionManager, is completed
+     */
+    public static void beginDeferredEvictions( )
+    {
+        _tlDeferredEvictions.set( new ArrayList<>( ) );
+    }
+
+    /**
+     * Run again the evictions recorded since {@link #beginDeferredEvictions()}. Must be called once the transaction is committed or rolled back
+     */
+    public static void endDeferredEvictions( )
+    {
+        List<Runnable> listDeferredEvictions = _tlDeferredEvictions.get( );
+        _tlDeferredEvictions.remove( );
+
+        if ( listDeferredEvictions != null )
+        {
+            listDeferredEvictions.forEach( Runnable::run );
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void resetCache( )
+    {
+        _lVersion.incrementAndGet( );
+        super.resetCache( );
+    }
+
+    /**
+     * Get the number of lookups served by the cache
+     * 
+     * @return the hit count
+     */
+    public long getHitCount( )
+    {
+        return _lHitCount.get( );
+    }
+
+    /**
+     * Get the number of lookups which had to load the value
+     * 
+     * @return the miss count
+     */
+    public long getMissCount( )
+    {
+        return _lMissCount.get( );
+    }
+
+    /**
+     * Marker of a value which does not exist
+     */
+    private static final class MissingValue implements Serializable
+    {
+        private static final long serialVersionUID = 1L;
+
+        /**
+         * Keep a single instance when the marker is deserialized, for instance by a cache stored on disk
+         * 
+         * @return the marker
+         */
+        private Object readResolve( )
+        {
+            return MISSING_VALUE;
+        }
+    }
+}
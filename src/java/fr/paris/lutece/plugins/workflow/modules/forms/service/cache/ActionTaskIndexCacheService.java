@@ -0,0 +1,188 @@
+/*
+ * Copyright (c) 2002-2021, City of Paris
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ *  1. Redistributions of source code must retain the above copyright notice
+ *     and the following disclaimer.
+ *
+ *  2. Redistributions in binary form must reproduce the above copyright notice
+ *     and the following disclaimer in the documentation and/or other materials
+ *     provided with the distribution.
+ *
+ *  3. Neither the name of 'Mairie de Paris' nor 'Lutece' nor the names of its
+ *     contributors may be used to endorse or promote products derived from
+ *     this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ *
+ * License 1.0
+ */
+package fr.paris.lutece.plugins.workflow.modules.forms.service.cache;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntFunction;
+
+import fr.paris.lutece.plugins.workflowcore.service.task.ITask;
+import fr.paris.lutece.portal.service.util.AppPropertiesService;
+
+/**
+ * Cache of the ids of the tasks of an action, indexed by task type key and keyed by action id. Only the task types of the module are looked up, so the
+ * cache is cleared along the lifecycle of these tasks: when a task of the module is configured, which follows its creation, and when it is removed. An
+ * index also expires after a time to live, which bounds the staleness when the workflow is modified on another node.
+ */
+public final class ActionTaskIndexCacheService extends AbstractWorkflowFormsCacheService
+{
+    private static final String CACHE_NAME = "workflow-forms.actionTaskIndexCacheService";
+    private static final String PROPERTY_TIME_TO_LIVE = "workflow-forms.cache.action_task_index.time_to_live";
+    private static final int DEFAULT_TIME_TO_LIVE = 300;
+
+    private static final ActionTaskIndexCacheService INSTANCE = new ActionTaskIndexCacheService( );
+
+    /**
+     * Private constructor
+     */
+    private ActionTaskIndexCacheService( )
+    {
+        super( );
+    }
+
+    /**
+     * Get the instance of the service
+     * 
+     * @return the instance
+     */
+    public static ActionTaskIndexCacheService getInstance( )
+    {
+        return INSTANCE;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String getName( )
+    {
+        return CACHE_NAME;
+    }
+
+    /**
+     * Get the ids of the tasks of an action having the specified type, in the order of the tasks of the action
+     * 
+     * @param nIdAction
+     *            the id of the action
+     * @param strTaskTypeKey
+     *            the key of the task type
+     * @param taskLoader
+     *            the loader of the tasks of the action if the action is not in the cache
+     * @return the ids of the tasks, or an empty list if the action has no task of this type
+     */
+    public List<Integer> getIdTasks( int nIdAction, String strTaskTypeKey, IntFunction<List<ITask>> taskLoader )
+    {
+        long lTimeToLive = TimeUnit.SECONDS.toMillis( AppPropertiesService.getPropertyInt( PROPERTY_TIME_TO_LIVE, DEFAULT_TIME_TO_LIVE ) );
+
+        return getIdTasks( nIdAction, strTaskTypeKey, taskLoader, lTimeToLive );
+    }
+
+    /**
+     * Get the ids of the tasks of an action having the specified type, reloading the index of the action once it has expired
+     * 
+     * @param nIdAction
+     *            the id of the action
+     * @param strTaskTypeKey
+     *            the key of the task type
+     * @param taskLoader
+     *            the loader of the tasks of the action if the action is not in the cache
+     * @param lTimeToLive
+     *            the time to live of an index in milliseconds, or a negative or zero value if the index does not expire
+     * @return the ids of the tasks, or an empty list if the action has no task of this type
+     */
+    List<Integer> getIdTasks( int nIdAction, String strTaskTypeKey, IntFunction<List<ITask>> taskLoader, long lTimeToLive )
+    {
+        String strKey = String.valueOf( nIdAction );
+        ActionTaskIndex index = getOrLoad( strKey, ( ) -> new ActionTaskIndex( buildIndex( taskLoader.apply( nIdAction ) ) ) );
+
+        if ( lTimeToLive > 0 && System.currentTimeMillis( ) - index._lLoadTime >= lTimeToLive )
+        {
+            invalidate( strKey );
+            index = getOrLoad( strKey, ( ) -> new ActionTaskIndex( buildIndex( taskLoader.apply( nIdAction ) ) ) );
+        }
+
+        List<Integer> listIdTask = index._mapIdTasksByType.get( strTaskTypeKey );
+
+        return listIdTask != null ? Collections.unmodifiableList( listIdTask ) : Collections.emptyList( );
+    }
+
+    /**
+     * Remove all the indexes from the cache. Workflows are rarely modified, so the whole cache is cleared instead of tracking the action of each task.
+     */
+    public void removeAll( )
+    {
+        resetCache( );
+    }
+
+    /**
+     * Index the ids of the tasks by task type key
+     * 
+     * @param listTasks
+     *            the tasks of an action
+     * @return the index
+     */
+    private static HashMap<String, ArrayList<Integer>> buildIndex( List<ITask> listTasks )
+    {
+        HashMap<String, ArrayList<Integer>> mapIdTasksByType = new HashMap<>( );
+
+        if ( listTasks != null )
+        {
+            for ( ITask task : listTasks )
+            {
+                if ( task.getTaskType( ) != null )
+                {
+                    mapIdTasksByType.computeIfAbsent( task.getTaskType( ).getKey( ), strKey -> new ArrayList<>( ) ).add( task.getId( ) );
+                }
+            }
+        }
+
+        return mapIdTasksByType;
+    }
+
+    /**
+     * Index of the tasks of an action, with the time it has been loaded
+     */
+    private static final class ActionTaskIndex implements Serializable
+    {
+        private static final long serialVersionUID = 1L;
+
+        private final long _lLoadTime = System.currentTimeMillis( );
+        private final HashMap<String, ArrayList<Integer>> _mapIdTasksByType;
+
+        /**
+         * Constructor
+         * 
+         * @param mapIdTasksByType
+         *            the ids of the tasks by task type key
+         */
+        ActionTaskIndex( HashMap<String, ArrayList<Integer>> mapIdTasksByType )
+        {
+            _mapIdTasksByType = mapIdTasksByType;
+        }
+    }
+}
@@ -0,0 +1,101 @@
+/*
+ * Copyright (c) 2002-2021, City of Paris
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ *  1. Redistributions of source code must retain the above copyright notice
+ *     and the following disclaimer.
+ *
+ *  2. Redistributions in binary form must reproduce the above copyright notice
+ *     and the following disclaimer in the documentation and/or other materials
+ *     provided with the distribution.
+ *
+ *  3. Neither the name of 'Mairie de Paris' nor 'Lutece' nor the names of its
+ *     contributors may be used to endorse or promote products derived from
+ *     this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ *
+ * License 1.0
+ */
+package fr.paris.lutece.plugins.workflow.modules.forms.service.cache;
+
+import java.util.function.IntFunction;
+
+import fr.paris.lutece.plugins.workflow.modules.forms.service.task.CompiledEditFormResponseConfig;
+
+/**
+ * Cache of the compiled configs of the edit form response tasks, keyed by task id. A compiled config only holds the ids of its forms and questions, so
+ * it is only evicted when the config of its task is saved or removed: the questions follow the changes of their form through the question snapshots.
+ */
+public final class EditFormResponseConfigCacheService extends AbstractWorkflowFormsCacheService
+{
+    private static final String CACHE_NAME = "workflow-forms.editFormResponseConfigCacheService";
+
+    private static final EditFormResponseConfigCacheService INSTANCE = new EditFormResponseConfigCacheService( );
+
+    /**
+     * Private constructor
+     */
+    private EditFormResponseConfigCacheService( )
+    {
+        super( );
+    }
+
+    /**
+     * Get the instance of the service
+     * 
+     * @return the instance
+     */
+    public static EditFormResponseConfigCacheService getInstance( )
+    {
+        return INSTANCE;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String getName( )
+    {
+        return CACHE_NAME;
+    }
+
+    /**
+     * Get the compiled config of a task
+     * 
+     * @param nIdTask
+     *            the id of the task
+     * @param compiler
+     *            the compiler of the config if it is not in the cache
+     * @return the compiled config
+     */
+    public CompiledEditFormResponseConfig getCompiledConfig( int nIdTask, IntFunction<CompiledEditFormResponseConfig> compiler )
+    {
+        return getOrLoad( String.valueOf( nIdTask ), ( ) -> compiler.apply( nIdTask ) );
+    }
+
+    /**
+     * Remove the compiled config of a task from the cache
+     * 
+     * @param nIdTask
+     *            the id of the task
+     */
+    public void removeCompiledConfig( int nIdTask )
+    {
+        invalidate( String.valueOf( nIdTask ) );
+    }
+}
@@ -0,0 +1,152 @@
+/*
+ * Copyright (c) 2002-2021, City of Paris
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ *  1. Redistributions of source code must retain the above copyright notice
+ *     and the following disclaimer.
+ *
+ *  2. Redistributions in binary form must reproduce the above copyright notice
+ *     and the following disclaimer in the documentation and/or other materials
+ *     provided with the distribution.
+ *
+ *  3. Neither the name of 'Mairie de Paris' nor 'Lutece' nor the names of its
+ *     contributors may be used to endorse or promote products derived from
+ *     this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ *
+ * License 1.0
+ */
+package fr.paris.lutece.plugins.workflow.modules.forms.service.cache;
+
+import fr.paris.lutece.plugins.forms.business.QuestionHome;
+import fr.paris.lutece.plugins.workflow.modules.forms.service.FormQuestionsSnapshot;
+import fr.paris.lutece.portal.business.event.EventRessourceListener;
+import fr.paris.lutece.portal.business.event.ResourceEvent;
+import fr.paris.lutece.portal.service.event.ResourceEventManager;
+
+/**
+ * Cache of the question snapshots of the forms, keyed by form id. A snapshot is evicted when its form is updated or deleted, and all the snapshots are
+ * evicted when an entry is modified, as the event of an entry does not tell its form. A lookup never queries the database once the snapshot is cached.
+ */
+public final class FormQuestionsCacheService extends AbstractWorkflowFormsCacheService implements EventRessourceListener
+{
+    private static final String CACHE_NAME = "workflow-forms.formQuestionsCacheService";
+
+    private static final FormQuestionsCacheService INSTANCE = new FormQuestionsCacheService( );
+
+    /**
+     * Private constructor
+     */
+    private FormQuestionsCacheService( )
+    {
+        super( );
+        ResourceEventManager.register( this );
+    }
+
+    /**
+     * Get the instance of the service
+     * 
+     * @return the instance
+     */
+    public static FormQuestionsCacheService getInstance( )
+    {
+        return INSTANCE;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String getName( )
+    {
+        return CACHE_NAME;
+    }
+
+    /**
+     * Get the question snapshot of a form
+     * 
+     * @param nIdForm
+     *            the id of the form
+     * @return the snapshot
+     */
+    public FormQuestionsSnapshot getSnapshot( int nIdForm )
+    {
+        return getOrLoad( String.valueOf( nIdForm ), ( ) -> new FormQuestionsSnapshot( nIdForm, QuestionHome.getListQuestionByIdForm( nIdForm ) ) );
+    }
+
+    /**
+     * Remove the question snapshot of a form from the cache
+     * 
+     * @param nIdForm
+     *            the id of the form
+     */
+    public void removeSnapshot( int nIdForm )
+    {
+        invalidate( String.valueOf( nIdForm ) );
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void addedResource( ResourceEvent event )
+    {
+        // A new form has no snapshot yet, but a new entry changes the questions of its form
+        if ( FormsResourceEvents.isEntryEvent( event ) )
+        {
+            invalidateKeys( strKey -> true );
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void deletedResource( ResourceEvent event )
+    {
+        onFormEvent( event );
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void updatedResource( ResourceEvent event )
+    {
+        onFormEvent( event );
+    }
+
+    /**
+     * Evict the snapshot of the form targeted by an event, or all the snapshots if the event targets an entry
+     * 
+     * @param event
+     *            the event
+     */
+    private void onFormEvent( ResourceEvent event )
+    {
+        if ( FormsResourceEvents.isFormEvent( event ) )
+        {
+            invalidate( event.getIdResource( ) );
+        }
+        else
+            if ( FormsResourceEvents.isEntryEvent( event ) )
+            {
+                invalidateKeys( strKey -> true );
+            }
+    }
+}
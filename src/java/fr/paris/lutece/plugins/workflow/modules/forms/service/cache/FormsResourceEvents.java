@@ -0,0 +1,87 @@
+/*
+ * Copyright (c) 2002-2021, City of Paris
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ *  1. Redistributions of source code must retain the above copyright notice
+ *     and the following disclaimer.
+ *
+ *  2. Redistributions in binary form must reproduce the above copyright notice
+ *     and the following disclaimer in the documentation and/or other materials
+ *     provided with the distribution.
+ *
+ *  3. Neither the name of 'Mairie de Paris' nor 'Lutece' nor the names of its
+ *     contributors may be used to endorse or promote products derived from
+ *     this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ *
+ * License 1.0
+ */
+package fr.paris.lutece.plugins.workflow.modules.forms.service.cache;
+
+import java.util.Arrays;
+
+import org.apache.commons.lang3.StringUtils;
+
+import fr.paris.lutece.plugins.forms.business.Form;
+import fr.paris.lutece.portal.business.event.ResourceEvent;
+import fr.paris.lutece.portal.service.util.AppPropertiesService;
+
+/**
+ * Classification of the resource events which modify the questions of a form: the events of a form, identified by the id of the form, and the events of
+ * an entry, identified by the id of the entry. The entries belong to the generic attributes plugin, so the resource types of their events are configured.
+ */
+final class FormsResourceEvents
+{
+    private static final String PROPERTY_ENTRY_RESOURCE_TYPES = "workflow-forms.cache.entry_resource_types";
+    private static final String DEFAULT_ENTRY_RESOURCE_TYPES = "GENERICATTRIBUTES_ENTRY,FORMS_QUESTION";
+    private static final String SEPARATOR = ",";
+
+    /**
+     * Private constructor
+     */
+    private FormsResourceEvents( )
+    {
+    }
+
+    /**
+     * Tell if an event targets a form
+     * 
+     * @param event
+     *            the event
+     * @return true if the id of the resource of the event is the id of a form, false otherwise
+     */
+    static boolean isFormEvent( ResourceEvent event )
+    {
+        return Form.RESOURCE_TYPE.equals( event.getTypeResource( ) );
+    }
+
+    /**
+     * Tell if an event targets an entry or a question of a form
+     * 
+     * @param event
+     *            the event
+     * @return true if the event targets an entry, false otherwise
+     */
+    static boolean isEntryEvent( ResourceEvent event )
+    {
+        String strEntryResourceTypes = AppPropertiesService.getProperty( PROPERTY_ENTRY_RESOURCE_TYPES, DEFAULT_ENTRY_RESOURCE_TYPES );
+
+        return event.getTypeResource( ) != null
+                && Arrays.stream( strEntryResourceTypes.split( SEPARATOR ) ).map( StringUtils::trim ).anyMatch( event.getTypeResource( )::equals );
+    }
+}
@@ -0,0 +1,120 @@
+/*
+ * Copyright (c) 2002-2021, City of Paris
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ *  1. Redistributions of source code must retain the above copyright notice
+ *     and the following disclaimer.
+ *
+ *  2. Redistributions in binary form must reproduce the above copyright notice
+ *     and the following disclaimer in the documentation and/or other materials
+ *     provided with the distribution.
+ *
+ *  3. Neither the name of 'Mairie de Paris' nor 'Lutece' nor the names of its
+ *     contributors may be used to endorse or promote products derived from
+ *     this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ *
+ * License 1.0
+ */
+package fr.paris.lutece.plugins.workflow.modules.forms.service.cache;
+
+import java.util.function.IntFunction;
+
+import fr.paris.lutece.plugins.workflow.modules.forms.service.FormResponseStateControllerRule;
+
+/**
+ * Cache of the compiled rules of the form response state controllers, keyed by controller name and task id. The controllers share the config of a
+ * task but compile it with their own predicate, so each controller has its own key, and all of them are evicted when the config of the task changes.
+ */
+public final class StateControllerRuleCacheService extends AbstractWorkflowFormsCacheService
+{
+    private static final String CACHE_NAME = "workflow-forms.stateControllerRuleCacheService";
+    private static final String KEY_SEPARATOR = "-";
+
+    private static final StateControllerRuleCacheService INSTANCE = new StateControllerRuleCacheService( );
+
+    /**
+     * Private constructor
+     */
+    private StateControllerRuleCacheService( )
+    {
+        super( );
+    }
+
+    /**
+     * Get the instance of the service
+     * 
+     * @return the instance
+     */
+    public static StateControllerRuleCacheService getInstance( )
+    {
+        return INSTANCE;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String getName( )
+    {
+        return CACHE_NAME;
+    }
+
+    /**
+     * Get the rule of a controller for a task. The absence of config is cached too, so that an unconfigured controller does not query the database on each
+     * evaluation.
+     * 
+     * @param strControllerName
+     *            the name of the controller
+     * @param nIdTask
+     *            the id of the task
+     * @param compiler
+     *            the compiler of the rule if it is not in the cache
+     * @return the rule, or null if the task has no config
+     */
+    public FormResponseStateControllerRule getRule( String strControllerName, int nIdTask, IntFunction<FormResponseStateControllerRule> compiler )
+    {
+        return getOrLoad( getKey( strControllerName, nIdTask ), ( ) -> compiler.apply( nIdTask ), true );
+    }
+
+    /**
+     * Remove the rules of all the controllers for a task from the cache
+     * 
+     * @param nIdTask
+     *            the id of the task
+     */
+    public void removeRules( int nIdTask )
+    {
+        String strKeySuffix = KEY_SEPARATOR + nIdTask;
+        invalidateKeys( strKey -> strKey.endsWith( strKeySuffix ) );
+    }
+
+    /**
+     * Build the cache key
+     * 
+     * @param strControllerName
+     *            the name of the controller
+     * @param nIdTask
+     *            the id of the task
+     * @return the cache key
+     */
+    private static String getKey( String strControllerName, int nIdTask )
+    {
+        return strControllerName + KEY_SEPARATOR + nIdTask;
+    }
+}
@@ -0,0 +1,121 @@
+/*
+ * Copyright (c) 2002-2021, City of Paris
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ *  1. Redistributions of source code must retain the above copyright notice
+ *     and the following disclaimer.
+ *
+ *  2. Redistributions in binary form must reproduce the above copyright notice
+ *     and the following disclaimer in the documentation and/or other materials
+ *     provided with the distribution.
+ *
+ *  3. Neither the name of 'Mairie de Paris' nor 'Lutece' nor the names of its
+ *     contributors may be used to endorse or promote products derived from
+ *     this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ *
+ * License 1.0
+ */
+package fr.paris.lutece.plugins.workflow.modules.forms.service.cache;
+
+import java.util.function.IntFunction;
+
+import fr.paris.lutece.plugins.workflowcore.business.config.ITaskConfig;
+
+/**
+ * Cache of the task configurations, keyed by config type and task id
+ */
+public final class TaskConfigCacheService extends AbstractWorkflowFormsCacheService
+{
+    private static final String CACHE_NAME = "workflow-forms.taskConfigCacheService";
+    private static final String KEY_SEPARATOR = "-";
+
+    private static final TaskConfigCacheService INSTANCE = new TaskConfigCacheService( );
+
+    /**
+     * Private constructor
+     */
+    private TaskConfigCacheService( )
+    {
+        super( );
+    }
+
+    /**
+     * Get the instance of the service
+     * 
+     * @return the instance
+     */
+    public static TaskConfigCacheService getInstance( )
+    {
+        return INSTANCE;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String getName( )
+    {
+        return CACHE_NAME;
+    }
+
+    /**
+     * Get the config of a task
+     * 
+     * @param strConfigType
+     *            the config type
+     * @param nIdTask
+     *            the id of the task
+     * @param loader
+     *            the loader of the config
+     * @param <C>
+     *            the type of the config
+     * @return the config, or null if the task has no config
+     */
+    public <C extends ITaskConfig> C getConfig( String strConfigType, int nIdTask, IntFunction<C> loader )
+    {
+        return getOrLoad( getKey( strConfigType, nIdTask ), ( ) -> loader.apply( nIdTask ) );
+    }
+
+    /**
+     * Remove the config of a task from the cache
+     * 
+     * @param strConfigType
+     *            the config type
+     * @param nIdTask
+     *            the id of the task
+     */
+    public void removeConfig( String strConfigType, int nIdTask )
+    {
+        invalidate( getKey( strConfigType, nIdTask ) );
+    }
+
+    /**
+     * Build the cache key
+     * 
+     * @param strConfigType
+     *            the config type
+     * @param nIdTask
+     *            the id of the task
+     * @return the cache key
+     */
+    private static String getKey( String strConfigType, int nIdTask )
+    {
+        return strConfigType + KEY_SEPARATOR + nIdTask;
+    }
+}
@@ -0,0 +1,208 @@
+/*
+ * Copyright (c) 2002-2021, City of Paris
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ *  1. Redistributions of source code must retain the above copyright notice
+ *     and the following disclaimer.
+ *
+ *  2. Redistributions in binary form must reproduce the above copyright notice
+ *     and the following disclaimer in the documentation and/or other materials
+ *     provided with the distribution.
+ *
+ *  3. Neither the name of 'Mairie de Paris' nor 'Lutece' nor the names of its
+ *     contributors may be used to endorse or promote products derived from
+ *     this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ *
+ * License 1.0
+ */
+package fr.paris.lutece.plugins.workflow.modules.forms.service.cache;
+
+import java.util.Locale;
+import java.util.function.Supplier;
+
+import fr.paris.lutece.portal.business.event.EventRessourceListener;
+import fr.paris.lutece.portal.business.event.ResourceEvent;
+import fr.paris.lutece.portal.service.event.ResourceEventManager;
+
+/**
+ * Cache of the rendered task information panels, keyed by history id, task id, display mode of the history values and locale. Only the panels displaying
+ * data which cannot change anymore are cached, and the panels of a task are evicted when its config changes. The panels embed the titles of the questions
+ * and entries, so all of them are evicted when a form or an entry is modified. The number of cached panels is bounded by the settings of the cache, such as
+ * workflow-forms.taskInformationCacheService.maxElementsInMemory in caches.properties, the least recently used panels being evicted first.
+ */
+public final class TaskInformationCacheService extends AbstractWorkflowFormsCacheService implements EventRessourceListener
+{
+    private static final String CACHE_NAME = "workflow-forms.taskInformationCacheService";
+    private static final String KEY_SEPARATOR = "-";
+
+    private static final TaskInformationCacheService INSTANCE = new TaskInformationCacheService( );
+
+    /**
+     * Private constructor
+     */
+    private TaskInformationCacheService( )
+    {
+        super( );
+        ResourceEventManager.register( this );
+    }
+
+    /**
+     * Get the instance of the service
+     * 
+     * @return the instance
+     */
+    public static TaskInformationCacheService getInstance( )
+    {
+        return INSTANCE;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String getName( )
+    {
+        return CACHE_NAME;
+    }
+
+    /**
+     * Get the rendered task information panel of a history, or render it if it is not in the cache
+     * 
+     * @param nIdHistory
+     *            the id of the history
+     * @param nIdTask
+     *            the id of the task
+     * @param nValueDisplayMaxLength
+     *            the maximum length of the history values displayed by the panel, 0 if all the values are displayed
+     * @param locale
+     *            the locale
+     * @param renderer
+     *            the renderer of the panel
+     * @return the rendered HTML
+     */
+    public String getTaskInformation( int nIdHistory, int nIdTask, int nValueDisplayMaxLength, Locale locale, Supplier<TaskInformationFragment> renderer )
+    {
+        TaskInformationFragment fragment = getOrLoad( getKeyPrefix( nIdHistory, nIdTask ) + nValueDisplayMaxLength + KEY_SEPARATOR + locale, renderer,
+                ( TaskInformationFragment f ) -> f != null && f.isFinal( ) );
+
+        return fragment != null ? fragment.getHtml( ) : null;
+    }
+
+    /**
+     * Remove the rendered panels of a history and a task, for all the locales
+     * 
+     * @param nIdHistory
+     *            the id of the history
+     * @param nIdTask
+     *            the id of the task
+     */
+    public void removeTaskInformation( int nIdHistory, int nIdTask )
+    {
+        removeByPrefix( getKeyPrefix( nIdHistory, nIdTask ) );
+    }
+
+    /**
+     * Remove the rendered panels of a history, for all the tasks and all the locales
+     * 
+     * @param nIdHistory
+     *            the id of the history
+     */
+    public void removeTaskInformation( int nIdHistory )
+    {
+        removeByPrefix( nIdHistory + KEY_SEPARATOR );
+    }
+
+    /**
+     * Remove the rendered panels of a task, for all the histories and all the locales
+     * 
+     * @param nIdTask
+     *            the id of the task
+     */
+    public void removeTaskInformationByTask( int nIdTask )
+    {
+        String strTaskPrefix = nIdTask + KEY_SEPARATOR;
+        invalidateKeys( strKey -> strKey.startsWith( strTaskPrefix, strKey.indexOf( KEY_SEPARATOR ) + 1 ) );
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void addedResource( ResourceEvent event )
+    {
+        onFormEvent( event );
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void deletedResource( ResourceEvent event )
+    {
+        onFormEvent( event );
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void updatedResource( ResourceEvent event )
+    {
+        onFormEvent( event );
+    }
+
+    /**
+     * Evict all the panels when a form or an entry is modified, as a panel does not tell the form of its questions
+     * 
+     * @param event
+     *            the event
+     */
+    private void onFormEvent( ResourceEvent event )
+    {
+        if ( FormsResourceEvents.isFormEvent( event ) || FormsResourceEvents.isEntryEvent( event ) )
+        {
+            invalidateKeys( strKey -> true );
+        }
+    }
+
+    /**
+     * Remove the keys starting with the specified prefix
+     * 
+     * @param strPrefix
+     *            the prefix
+     */
+    private void removeByPrefix( String strPrefix )
+    {
+        invalidateKeys( strKey -> strKey.startsWith( strPrefix ) );
+    }
+
+    /**
+     * Build the prefix of the keys of a history and a task
+     * 
+     * @param nIdHistory
+     *            the id of the history
+     * @param nIdTask
+     *            the id of the task
+     * @return the key prefix
+     */
+    private static String getKeyPrefix( int nIdHistory, int nIdTask )
+    {
+        return nIdHistory + KEY_SEPARATOR + nIdTask + KEY_SEPARATOR;
+    }
+}
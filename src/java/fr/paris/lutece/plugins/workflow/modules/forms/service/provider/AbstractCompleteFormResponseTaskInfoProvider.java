@@ -82,7 +82,29 @@ public abstract class AbstractCompleteFormResponseTaskInfoProvider extends Abstr
     @Override
     public String getTaskResourceInfo( int nIdHistory, int nIdTask, HttpServletRequest request )
     {
+        CompleteFormResponseTaskResourceInfo resourceInfo = getTaskResourceInfoValues( nIdHistory, nIdTask, request );
+
         JSONObject jsonInfos = new JSONObject( );
+        jsonInfos.accumulate( getMarkUrl( ), resourceInfo.getUrl( ) );
+        jsonInfos.accumulate( getMarkMsg( ), resourceInfo.getMessage( ) );
+        jsonInfos.accumulate( getMarkEntries( ), resourceInfo.getEntries( ) );
+
+        return jsonInfos.toString( );
+    }
+
+    /**
+     * Get the resource information of the task, without serializing it
+     * 
+     * @param nIdHistory
+     *            the id of the history
+     * @param nIdTask
+     *            the id of the task
+     * @param request
+     *            the HTTP request
+     * @return the resource information
+     */
+    public CompleteFormResponseTaskResourceInfo getTaskResourceInfoValues( int nIdHistory, int nIdTask, HttpServletRequest request )
+    {
         String strInfoUrl = StringUtils.EMPTY;
 
         ResourceHistory resourceHistory = _resourceHistoryService.findByPrimaryKey( nIdHistory );
@@ -115,11 +137,8 @@ public abstract class AbstractCompleteFormResponseTaskInfoProvider extends Abstr
         String strInfoEntries = getInfoEntries( nIdHistory );
 
         String strInfoMsg = getInfoMessage( nIdHistory, nIdTask );
-        jsonInfos.accumulate( getMarkUrl( ), strInfoUrl );
-        jsonInfos.accumulate( getMarkMsg( ), strInfoMsg );
-        jsonInfos.accumulate( getMarkEntries( ), strInfoEntries );
 
-        return jsonInfos.toString( );
+        return new CompleteFormResponseTaskResourceInfo( strInfoUrl, strInfoMsg, strInfoEntries );
     }
 
     protected abstract String getInfoEntries( int nIdHistory );
@@ -0,0 +1,85 @@
+/*
+ * Copyright (c) 2002-2021, City of Paris
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ *  1. Redistributions of source code must retain the above copyright notice
+ *     and the following disclaimer.
+ *
+ *  2. Redistributions in binary form must reproduce the above copyright notice
+ *     and the following disclaimer in the documentation and/or other materials
+ *     provided with the distribution.
+ *
+ *  3. Neither the name of 'Mairie de Paris' nor 'Lutece' nor the names of its
+ *     contributors may be used to endorse or promote products derived from
+ *     this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ *
+ * License 1.0
+ */
+package fr.paris.lutece.plugins.workflow.modules.forms.service.provider;
+
+/**
+ * This class represents the resource information provided by a complete form response task info provider
+ */
+public final class CompleteFormResponseTaskResourceInfo
+{
+    private final String _strUrl;
+    private final String _strMessage;
+    private final String _strEntries;
+
+    /**
+     * Constructor
+     * 
+     * @param strUrl
+     *            the url to complete the form response
+     * @param strMessage
+     *            the message of the task
+     * @param strEntries
+     *            the titles of the entries to complete
+     */
+    public CompleteFormResponseTaskResourceInfo( String strUrl, String strMessage, String strEntries )
+    {
+        _strUrl = strUrl;
+        _strMessage = strMessage;
+        _strEntries = strEntries;
+    }
+
+    /**
+     * @return the url to complete the form response
+     */
+    public String getUrl( )
+    {
+        return _strUrl;
+    }
+
+    /**
+     * @return the message of the task
+     */
+    public String getMessage( )
+    {
+        return _strMessage;
+    }
+
+    /**
+     * @return the titles of the entries to complete
+     */
+    public String getEntries( )
+    {
+        return _strEntries;
+    }
+}
@@ -42,13 +42,12 @@ import javax.inject.Inject;
 import javax.inject.Named;
 import javax.servlet.http.HttpServletRequest;
 
-import fr.paris.lutece.plugins.workflow.service.taskinfo.ITaskInfoProvider;
+import fr.paris.lutece.plugins.workflow.modules.forms.service.cache.ActionTaskIndexCacheService;
 import fr.paris.lutece.plugins.workflowcore.business.resource.ResourceHistory;
 import fr.paris.lutece.plugins.workflowcore.service.provider.IMarkerProvider;
 import fr.paris.lutece.plugins.workflowcore.service.provider.InfoMarker;
 import fr.paris.lutece.plugins.workflowcore.service.task.ITask;
 import fr.paris.lutece.plugins.workflowcore.service.task.ITaskService;
-import net.sf.json.JSONObject;
 
 /**
  * This class represents a NotifyGru marker provider for the Resubmit Form task
@@ -64,7 +63,7 @@ public class ResubmitFormResponseMarkerProvider implements IMarkerProvider
 
     @Inject
     @Named( value = "workflow-forms.resubmitFormResponseTaskInfoProvider" )
-    private ITaskInfoProvider _resubmitFormResponseTaskInfoProvider;
+    private AbstractCompleteFormResponseTaskInfoProvider _resubmitFormResponseTaskInfoProvider;
 
     // Messages
     private static final String MESSAGE_TITLE = "module.workflow.forms.marker.provider.resubmit_form.title";
@@ -109,37 +108,29 @@ public class ResubmitFormResponseMarkerProvider implements IMarkerProvider
     {
         List<InfoMarker> listMarkers = new ArrayList<>( );
 
-        Locale locale = Locale.getDefault( );
-        if ( request != null )
-        {
-            locale = request.getLocale( );
-        }
+        Locale locale = ( request != null ) ? request.getLocale( ) : Locale.getDefault( );
+        List<Integer> listIdTask = ActionTaskIndexCacheService.getInstance( ).getIdTasks( resourceHistory.getAction( ).getId( ),
+                _resubmitFormResponseTaskInfoProvider.getTaskType( ).getKey( ), nIdAction -> _taskService.getListTaskByIdAction( nIdAction, locale ) );
 
-        for ( ITask taskOther : _taskService.getListTaskByIdAction( resourceHistory.getAction( ).getId( ), locale ) )
+        if ( !listIdTask.isEmpty( ) )
         {
-            if ( taskOther.getTaskType( ).getKey( ).equals( _resubmitFormResponseTaskInfoProvider.getTaskType( ).getKey( ) ) )
-            {
-                String strJsonInfos = _resubmitFormResponseTaskInfoProvider.getTaskResourceInfo( resourceHistory.getId( ), taskOther.getId( ), request );
-
-                JSONObject jsonInfos = JSONObject.fromObject( strJsonInfos );
-                String strUrl = jsonInfos.getString( ResubmitFormResponseTaskInfoProvider.MARK_RESUBMIT_FORM_URL );
-                String strMsg = jsonInfos.getString( ResubmitFormResponseTaskInfoProvider.MARK_RESUBMIT_FORM_MESSAGE );
-                String strEntries = jsonInfos.getString( ResubmitFormResponseTaskInfoProvider.MARK_RESUBMIT_FORM_ENTRIES );
-
-                InfoMarker notifyGruMarkerUrl = new InfoMarker( ResubmitFormResponseTaskInfoProvider.MARK_RESUBMIT_FORM_URL );
-                notifyGruMarkerUrl.setValue( strUrl );
-                listMarkers.add( notifyGruMarkerUrl );
-
-                InfoMarker notifyGruMarkerMsg = new InfoMarker( ResubmitFormResponseTaskInfoProvider.MARK_RESUBMIT_FORM_MESSAGE );
-                notifyGruMarkerMsg.setValue( strMsg );
-                listMarkers.add( notifyGruMarkerMsg );
-
-                InfoMarker notifyGruMarkerEntries = new InfoMarker( ResubmitFormResponseTaskInfoProvider.MARK_RESUBMIT_FORM_ENTRIES );
-                notifyGruMarkerEntries.setValue( strEntries );
-                listMarkers.add( notifyGruMarkerEntries );
-
-                break;
-            }
+            CompleteFormResponseTaskResourceInfo resourceInfo = _resubmitFormResponseTaskInfoProvider.getTaskResourceInfoValues( resourceHistory.getId( ),
+                    listIdTask.get( 0 ), request );
+            String strUrl = resourceInfo.getUrl( );
+            String strMsg = resourceInfo.getMessage( );
+            String strEntries = resourceInfo.getEntries( );
+
+            InfoMarker notifyGruMarkerUrl = new InfoMarker( ResubmitFormResponseTaskInfoProvider.MARK_RESUBMIT_FORM_URL );
+            notifyGruMarkerUrl.setValue( strUrl );
+            listMarkers.add( notifyGruMarkerUrl );
+
+            InfoMarker notifyGruMarkerMsg = new InfoMarker( ResubmitFormResponseTaskInfoProvider.MARK_RESUBMIT_FORM_MESSAGE );
+            notifyGruMarkerMsg.setValue( strMsg );
+            listMarkers.add( notifyGruMarkerMsg );
+
+            InfoMarker notifyGruMarkerEntries = new InfoMarker( ResubmitFormResponseTaskInfoProvider.MARK_RESUBMIT_FORM_ENTRIES );
+            notifyGruMarkerEntries.setValue( strEntries );
+            listMarkers.add( notifyGruMarkerEntries );
         }
 
         return listMarkers;
@@ -0,0 +1,128 @@
+/*
+ * Copyright (c) 2002-2021, City of Paris
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ *  1. Redistributions of source code must retain the above copyright notice
+ *     and the following disclaimer.
+ *
+ *  2. Redistributions in binary form must reproduce the above copyright notice
+ *     and the following disclaimer in the documentation and/or other materials
+ *     provided with the distribution.
+ *
+ *  3. Neither the name of 'Mairie de Paris' nor 'Lutece' nor the names of its
+ *     contributors may be used to endorse or promote products derived from
+ *     this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ *
+ * License 1.0
+ */
+package fr.paris.lutece.plugins.workflow.modules.forms.service.task;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import fr.paris.lutece.plugins.forms.business.Question;
+import fr.paris.lutece.plugins.workflow.modules.forms.business.EditFormResponseConfig;
+import fr.paris.lutece.plugins.workflow.modules.forms.business.EditFormResponseConfigValue;
+import fr.paris.lutece.plugins.workflow.modules.forms.service.FormQuestionsSnapshot;
+import fr.paris.lutece.plugins.workflow.modules.forms.service.cache.FormQuestionsCacheService;
+
+/**
+ * Immutable view of an {@link EditFormResponseConfig}, with the ids of the questions to edit already grouped by form. Only the ids are kept: the
+ * questions themselves are taken from the question snapshot of the form, which follows the changes of the form and hands out copies.
+ */
+public final class CompiledEditFormResponseConfig
+{
+    private final int _nIdTask;
+    private final Map<Integer, List<Integer>> _mapIdQuestionsByForm;
+
+    /**
+     * Constructor
+     * 
+     * @param nIdTask
+     *            the id of the task
+     * @param config
+     *            the config to compile. May be null if the task has no config
+     */
+    public CompiledEditFormResponseConfig( int nIdTask, EditFormResponseConfig config )
+    {
+        _nIdTask = nIdTask;
+
+        Map<Integer, List<Integer>> mapIdQuestionsByForm = new HashMap<>( );
+
+        if ( config != null )
+        {
+            for ( EditFormResponseConfigValue configValue : config.getListConfigValues( ) )
+            {
+                if ( configValue.getForm( ) != null && configValue.getQuestion( ) != null )
+                {
+                    mapIdQuestionsByForm.computeIfAbsent( configValue.getForm( ).getId( ), k -> new ArrayList<>( ) )
+                            .add( configValue.getQuestion( ).getId( ) );
+                }
+            }
+        }
+
+        for ( Map.Entry<Integer, List<Integer>> entry : mapIdQuestionsByForm.entrySet( ) )
+        {
+            entry.setValue( Collections.unmodifiableList( entry.getValue( ) ) );
+        }
+
+        _mapIdQuestionsByForm = Collections.unmodifiableMap( mapIdQuestionsByForm );
+    }
+
+    /**
+     * @return the id of the task
+     */
+    public int getIdTask( )
+    {
+        return _nIdTask;
+    }
+
+    /**
+     * Gives the questions to edit for the specified form. The questions which do not exist anymore are skipped.
+     * 
+     * @param nIdForm
+     *            the id of the form
+     * @return a modifiable list of copies of the questions
+     */
+    public List<Question> getQuestions( int nIdForm )
+    {
+        List<Integer> listIdQuestions = _mapIdQuestionsByForm.getOrDefault( nIdForm, Collections.emptyList( ) );
+        List<Question> listQuestions = new ArrayList<>( listIdQuestions.size( ) );
+
+        if ( listIdQuestions.isEmpty( ) )
+        {
+            return listQuestions;
+        }
+
+        FormQuestionsSnapshot snapshot = FormQuestionsCacheService.getInstance( ).getSnapshot( nIdForm );
+        for ( Integer nIdQuestion : listIdQuestions )
+        {
+            Question question = snapshot.getQuestion( nIdQuestion );
+            if ( question != null )
+            {
+                listQuestions.add( question );
+            }
+        }
+
+        return listQuestions;
+    }
+}
@@ -48,6 +48,8 @@ import fr.paris.lutece.plugins.workflow.modules.forms.business.CompleteFormRespo
 import fr.paris.lutece.plugins.workflow.modules.forms.business.CompleteFormResponseTaskConfig;
 import fr.paris.lutece.plugins.workflow.modules.forms.business.CompleteFormResponseValue;
 import fr.paris.lutece.plugins.workflow.modules.forms.service.ICompleteFormResponseService;
+import fr.paris.lutece.plugins.workflow.modules.forms.service.cache.ActionTaskIndexCacheService;
+import fr.paris.lutece.plugins.workflow.modules.forms.service.cache.TaskInformationCacheService;
 import fr.paris.lutece.plugins.workflowcore.business.state.State;
 import fr.paris.lutece.plugins.workflowcore.service.config.ITaskConfigService;
 import fr.paris.lutece.plugins.workflowcore.service.state.IStateService;
@@ -125,6 +127,7 @@ public class CompleteFormResponseTask extends Task
     public void doRemoveTaskInformation( int nIdHistory )
     {
         _completeFormResponseService.removeByIdHistory( nIdHistory, getId( ) );
+        TaskInformationCacheService.getInstance( ).removeTaskInformation( nIdHistory, getId( ) );
     }
 
     @Override
@@ -132,6 +135,7 @@ public class CompleteFormResponseTask extends Task
     {
         _completeFormResponseService.removeByIdTask( getId( ) );
         _taskCompleteResponseConfigService.remove( getId( ) );
+        ActionTaskIndexCacheService.getInstance( ).removeAll( );
     }
 
     @Override
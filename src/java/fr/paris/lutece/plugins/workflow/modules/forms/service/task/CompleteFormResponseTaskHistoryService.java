@@ -33,12 +33,12 @@
  */
 package fr.paris.lutece.plugins.workflow.modules.forms.service.task;
 
+import java.util.Collections;
 import java.util.List;
+import java.util.function.Consumer;
 
 import javax.inject.Inject;
 
-import fr.paris.lutece.plugins.forms.business.Question;
-import fr.paris.lutece.plugins.forms.business.QuestionHome;
 import fr.paris.lutece.plugins.workflow.modules.forms.business.CompleteFormResponseTaskHistory;
 import fr.paris.lutece.plugins.workflow.modules.forms.business.ICompleteFormResponseTaskHistoryDAO;
 import fr.paris.lutece.plugins.workflowcore.business.resource.ResourceHistory;
@@ -49,25 +49,64 @@ public class CompleteFormResponseTaskHistoryService implements ICompleteFormResp
     @Inject
     private ICompleteFormResponseTaskHistoryDAO _completeFormResponseTaskHistoryDAO;
 
+    @Inject
+    private IFormsTaskService _formsTaskService;
+
     @Override
     public void create( CompleteFormResponseTaskHistory completeFormResponseTaskHistory )
     {
         _completeFormResponseTaskHistoryDAO.insert( completeFormResponseTaskHistory );
     }
 
+    @Override
+    public void createAll( List<CompleteFormResponseTaskHistory> listCompleteFormResponseTaskHistory )
+    {
+        _completeFormResponseTaskHistoryDAO.insertAll( listCompleteFormResponseTaskHistory );
+    }
+
+    @Override
+    public void forEachByTask( int nIdTask, int nIdQuestion, int nIdHistoryAfter, Consumer<CompleteFormResponseTaskHistory> consumer )
+    {
+        _completeFormResponseTaskHistoryDAO.selectByIdTask( nIdTask, nIdQuestion, nIdHistoryAfter, consumer );
+    }
+
     @Override
     public List<CompleteFormResponseTaskHistory> load( int nIdHistory, int nIdTask )
     {
         List<CompleteFormResponseTaskHistory> listCompleteFormResponseTaskHistory = _completeFormResponseTaskHistoryDAO
                 .selectEditFormResponseHistoryByIdHistoryAndIdTask( nIdHistory, nIdTask );
-        listCompleteFormResponseTaskHistory.forEach( ( CompleteFormResponseTaskHistory history ) -> {
-            Question question = QuestionHome.findByPrimaryKey( history.getQuestion( ).getId( ) );
-            question.setIterationNumber( history.getQuestion( ).getIterationNumber( ) );
-            history.setQuestion( question );
-        } );
+        if ( !listCompleteFormResponseTaskHistory.isEmpty( ) )
+        {
+            TaskHistoryQuestionResolver.resolveQuestions( listCompleteFormResponseTaskHistory, _formsTaskService.findFormQuestionsSnapshot( nIdHistory ) );
+        }
         return listCompleteFormResponseTaskHistory;
     }
 
+    @Override
+    public List<CompleteFormResponseTaskHistory> loadSummary( int nIdHistory, int nIdTask, int nMaxValueLength )
+    {
+        List<CompleteFormResponseTaskHistory> listCompleteFormResponseTaskHistory = _completeFormResponseTaskHistoryDAO
+                .selectSummaryByIdHistoryAndIdTask( nIdHistory, nIdTask, nMaxValueLength );
+        if ( !listCompleteFormResponseTaskHistory.isEmpty( ) )
+        {
+            TaskHistoryQuestionResolver.resolveQuestions( listCompleteFormResponseTaskHistory, _formsTaskService.findFormQuestionsSnapshot( nIdHistory ) );
+        }
+        return listCompleteFormResponseTaskHistory;
+    }
+
+    @Override
+    public CompleteFormResponseTaskHistory loadValue( int nIdHistory, int nIdTask, int nIdQuestion, int nIterationNumber )
+    {
+        CompleteFormResponseTaskHistory completeFormResponseTaskHistory = _completeFormResponseTaskHistoryDAO
+                .selectByPrimaryKey( nIdHistory, nIdTask, nIdQuestion, nIterationNumber );
+        if ( completeFormResponseTaskHistory != null )
+        {
+            TaskHistoryQuestionResolver.resolveQuestions( Collections.singletonList( completeFormResponseTaskHistory ),
+                    _formsTaskService.findFormQuestionsSnapshot( nIdHistory ) );
+        }
+        return completeFormResponseTaskHistory;
+    }
+
     @Override
     public void removeAllByHistoryAndTask( ResourceHistory history, ITask task )
     {
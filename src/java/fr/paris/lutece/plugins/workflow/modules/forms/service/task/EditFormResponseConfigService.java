@@ -36,6 +36,7 @@ package fr.paris.lutece.plugins.workflow.modules.forms.service.task;
 import fr.paris.lutece.plugins.workflow.modules.forms.business.EditFormResponseConfig;
 import fr.paris.lutece.plugins.workflow.modules.forms.business.EditFormResponseConfigValue;
 import fr.paris.lutece.plugins.workflow.modules.forms.business.EditFormResponseConfigValueHome;
+import fr.paris.lutece.plugins.workflow.modules.forms.service.cache.EditFormResponseConfigCacheService;
 import fr.paris.lutece.plugins.workflowcore.business.config.ITaskConfig;
 import fr.paris.lutece.plugins.workflowcore.service.config.TaskConfigService;
 
@@ -62,6 +63,8 @@ public class EditFormResponseConfigService extends TaskConfigService
             configValue.setIdConfig( conf.getIdConfig( ) );
             EditFormResponseConfigValueHome.create( configValue );
         }
+
+        EditFormResponseConfigCacheService.getInstance( ).removeCompiledConfig( conf.getIdTask( ) );
     }
 
     @Override
@@ -76,6 +79,8 @@ public class EditFormResponseConfigService extends TaskConfigService
             configValue.setIdConfig( conf.getIdConfig( ) );
             EditFormResponseConfigValueHome.create( configValue );
         }
+
+        EditFormResponseConfigCacheService.getInstance( ).removeCompiledConfig( conf.getIdTask( ) );
     }
 
     @Override
@@ -87,5 +92,7 @@ public class EditFormResponseConfigService extends TaskConfigService
             EditFormResponseConfigValueHome.removeByConfig( config.getIdConfig( ) );
         }
         super.remove( nIdTask );
+
+        EditFormResponseConfigCacheService.getInstance( ).removeCompiledConfig( nIdTask );
     }
 }
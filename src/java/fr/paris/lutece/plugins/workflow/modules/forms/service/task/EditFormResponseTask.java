@@ -45,6 +45,7 @@ import fr.paris.lutece.plugins.forms.business.FormQuestionResponse;
 import fr.paris.lutece.plugins.forms.business.FormResponse;
 import fr.paris.lutece.plugins.forms.business.Question;
 import fr.paris.lutece.plugins.workflow.modules.forms.business.EditFormResponseTaskHistory;
+import fr.paris.lutece.plugins.workflow.modules.forms.service.cache.TaskInformationCacheService;
 import fr.paris.lutece.plugins.workflow.modules.forms.utils.EditableResponse;
 import fr.paris.lutece.plugins.workflowcore.business.resource.ResourceHistory;
 import fr.paris.lutece.plugins.workflowcore.service.config.ITaskConfigService;
@@ -103,8 +104,9 @@ public class EditFormResponseTask extends AbstractFormsTask
     @Override
     public void processTask( FormResponse formResponse, HttpServletRequest request, Locale locale )
     {
-        List<Question> listQuestion = _editFormResponseTaskService.findQuestionsToEdit( this, formResponse );
-        List<EditableResponse> listEditableResponse = _formsTaskService.createEditableResponses( formResponse, listQuestion, request );
+        FormQuestionResponseIndex index = new FormQuestionResponseIndex( formResponse );
+        List<Question> listQuestion = _editFormResponseTaskService.findQuestionsToEdit( this, formResponse, index );
+        List<EditableResponse> listEditableResponse = _formsTaskService.createEditableResponses( formResponse, index, listQuestion, request );
         _listChangedResponse = _formsTaskService.findChangedResponses( listEditableResponse );
         List<FormQuestionResponse> listChangedResponseToSave = new ArrayList<>( );
 
@@ -119,6 +121,8 @@ public class EditFormResponseTask extends AbstractFormsTask
     @Override
     protected void saveTaskInformation( int nIdHistory )
     {
+        List<EditFormResponseTaskHistory> listEditFormResponseTaskHistory = new ArrayList<>( );
+
         for ( EditableResponse editableResponse : _listChangedResponse )
         {
             EditFormResponseTaskHistory editFormResponseTaskHistory = new EditFormResponseTaskHistory( );
@@ -129,8 +133,10 @@ public class EditFormResponseTask extends AbstractFormsTask
             editFormResponseTaskHistory.setPreviousValue( _formsTaskService.createPreviousNewValue( editableResponse.getResponseSaved( ) ) );
             editFormResponseTaskHistory.setNewValue( _formsTaskService.createPreviousNewValue( editableResponse.getResponseFromForm( ) ) );
 
-            _editFormResponseTaskHistoryService.create( editFormResponseTaskHistory );
+            listEditFormResponseTaskHistory.add( editFormResponseTaskHistory );
         }
+
+        _editFormResponseTaskHistoryService.createAll( listEditFormResponseTaskHistory );
     }
 
     @Override
@@ -145,5 +151,6 @@ public class EditFormResponseTask extends AbstractFormsTask
         ResourceHistory history = new ResourceHistory( );
         history.setId( nIdHistory );
         _editFormResponseTaskHistoryService.removeAllByHistoryAndTask( history, this );
+        TaskInformationCacheService.getInstance( ).removeTaskInformation( nIdHistory, getId( ) );
     }
 }
@@ -33,12 +33,12 @@
  */
 package fr.paris.lutece.plugins.workflow.modules.forms.service.task;
 
+import java.util.Collections;
 import java.util.List;
+import java.util.function.Consumer;
 
 import javax.inject.Inject;
 
-import fr.paris.lutece.plugins.forms.business.Question;
-import fr.paris.lutece.plugins.forms.business.QuestionHome;
 import fr.paris.lutece.plugins.workflow.modules.forms.business.EditFormResponseTaskHistory;
 import fr.paris.lutece.plugins.workflow.modules.forms.business.IEditFormResponseTaskHistoryDAO;
 import fr.paris.lutece.plugins.workflowcore.business.resource.ResourceHistory;
@@ -47,17 +47,21 @@ import fr.paris.lutece.plugins.workflowcore.service.task.ITask;
 public class EditFormResponseTaskHistoryService implements IEditFormResponseTaskHistoryService
 {
     private final IEditFormResponseTaskHistoryDAO _editFormResponseTaskHistoryDAO;
+    private final IFormsTaskService _formsTaskService;
 
     /**
      * Constructor
      * 
      * @param editFormResponseTaskHistoryDAO
      *            the edit form response task history dao
+     * @param formsTaskService
+     *            the forms task service
      */
     @Inject
-    public EditFormResponseTaskHistoryService( IEditFormResponseTaskHistoryDAO editFormResponseTaskHistoryDAO )
+    public EditFormResponseTaskHistoryService( IEditFormResponseTaskHistoryDAO editFormResponseTaskHistoryDAO, IFormsTaskService formsTaskService )
     {
         _editFormResponseTaskHistoryDAO = editFormResponseTaskHistoryDAO;
+        _formsTaskService = formsTaskService;
     }
 
     @Override
@@ -66,19 +70,55 @@ public class EditFormResponseTaskHistoryService implements IEditFormResponseTask
         _editFormResponseTaskHistoryDAO.insert( editFormResponseTaskHistory );
     }
 
+    @Override
+    public void createAll( List<EditFormResponseTaskHistory> listEditFormResponseTaskHistory )
+    {
+        _editFormResponseTaskHistoryDAO.insertAll( listEditFormResponseTaskHistory );
+    }
+
+    @Override
+    public void forEachByTask( int nIdTask, int nIdQuestion, int nIdHistoryAfter, Consumer<EditFormResponseTaskHistory> consumer )
+    {
+        _editFormResponseTaskHistoryDAO.selectByIdTask( nIdTask, nIdQuestion, nIdHistoryAfter, consumer );
+    }
+
     @Override
     public List<EditFormResponseTaskHistory> load( int nIdHistory, int nIdTask )
     {
         List<EditFormResponseTaskHistory> listEditFormResponseTaskHistory = _editFormResponseTaskHistoryDAO
                 .selectEditFormResponseHistoryByIdHistoryAndIdTask( nIdHistory, nIdTask );
-        listEditFormResponseTaskHistory.forEach( ( EditFormResponseTaskHistory history ) -> {
-            Question question = QuestionHome.findByPrimaryKey( history.getQuestion( ).getId( ) );
-            question.setIterationNumber( history.getQuestion( ).getIterationNumber( ) );
-            history.setQuestion( question );
-        } );
+        if ( !listEditFormResponseTaskHistory.isEmpty( ) )
+        {
+            TaskHistoryQuestionResolver.resolveQuestions( listEditFormResponseTaskHistory, _formsTaskService.findFormQuestionsSnapshot( nIdHistory ) );
+        }
+        return listEditFormResponseTaskHistory;
+    }
+
+    @Override
+    public List<EditFormResponseTaskHistory> loadSummary( int nIdHistory, int nIdTask, int nMaxValueLength )
+    {
+        List<EditFormResponseTaskHistory> listEditFormResponseTaskHistory = _editFormResponseTaskHistoryDAO
+                .selectSummaryByIdHistoryAndIdTask( nIdHistory, nIdTask, nMaxValueLength );
+        if ( !listEditFormResponseTaskHistory.isEmpty( ) )
+        {
+            TaskHistoryQuestionResolver.resolveQuestions( listEditFormResponseTaskHistory, _formsTaskService.findFormQuestionsSnapshot( nIdHistory ) );
+        }
         return listEditFormResponseTaskHistory;
     }
 
+    @Override
+    public EditFormResponseTaskHistory loadValue( int nIdHistory, int nIdTask, int nIdQuestion, int nIterationNumber )
+    {
+        EditFormResponseTaskHistory editFormResponseTaskHistory = _editFormResponseTaskHistoryDAO
+                .selectByPrimaryKey( nIdHistory, nIdTask, nIdQuestion, nIterationNumber );
+        if ( editFormResponseTaskHistory != null )
+        {
+            TaskHistoryQuestionResolver.resolveQuestions( Collections.singletonList( editFormResponseTaskHistory ),
+                    _formsTaskService.findFormQuestionsSnapshot( nIdHistory ) );
+        }
+        return editFormResponseTaskHistory;
+    }
+
     @Override
     public void removeAllByHistoryAndTask( ResourceHistory history, ITask task )
     {
@@ -34,7 +34,12 @@
 package fr.paris.lutece.plugins.workflow.modules.forms.service.task;
 
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 import javax.inject.Inject;
@@ -47,13 +52,13 @@ import fr.paris.lutece.plugins.forms.business.FormResponse;
 import fr.paris.lutece.plugins.forms.business.FormResponseStep;
 import fr.paris.lutece.plugins.forms.business.FormResponseStepHome;
 import fr.paris.lutece.plugins.forms.business.Question;
+import fr.paris.lutece.plugins.forms.business.Step;
 import fr.paris.lutece.plugins.forms.business.StepHome;
 import fr.paris.lutece.plugins.forms.service.EntryServiceManager;
 import fr.paris.lutece.plugins.forms.service.FormService;
 import fr.paris.lutece.plugins.forms.util.FormsConstants;
 import fr.paris.lutece.plugins.forms.web.entrytype.IEntryDataService;
-import fr.paris.lutece.plugins.workflow.modules.forms.business.EditFormResponseConfig;
-import fr.paris.lutece.plugins.workflow.modules.forms.business.EditFormResponseConfigValue;
+import fr.paris.lutece.plugins.workflow.modules.forms.service.cache.EditFormResponseConfigCacheService;
 import fr.paris.lutece.plugins.workflowcore.service.config.ITaskConfigService;
 import fr.paris.lutece.plugins.workflowcore.service.task.ITask;
 
@@ -68,9 +73,6 @@ public class EditFormResponseTaskService implements IEditFormResponseTaskService
     @Named( "workflow-forms.editFormResponseConfigService" )
     private ITaskConfigService _taskEditFormConfigService;
 
-    @Inject
-    private IFormsTaskService _formsTaskService;
-
     @Inject
     private FormService _formService;
 
@@ -80,30 +82,37 @@ public class EditFormResponseTaskService implements IEditFormResponseTaskService
     @Override
     public List<Question> findQuestionsToEdit( ITask task, FormResponse formResponse )
     {
-        EditFormResponseConfig config = _taskEditFormConfigService.findByPrimaryKey( task.getId( ) );
+        return findQuestionsToEdit( task, formResponse, new FormQuestionResponseIndex( formResponse ) );
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<Question> findQuestionsToEdit( ITask task, FormResponse formResponse, FormQuestionResponseIndex index )
+    {
+        CompiledEditFormResponseConfig config = EditFormResponseConfigCacheService.getInstance( ).getCompiledConfig( task.getId( ),
+                nIdTask -> new CompiledEditFormResponseConfig( nIdTask, _taskEditFormConfigService.findByPrimaryKey( nIdTask ) ) );
 
-        List<Question> listFormQuestion = config.getListConfigValues( ).stream( ).filter( cv -> cv.getForm( ).getId( ) == formResponse.getFormId( ) )
-                .map( EditFormResponseConfigValue::getQuestion ).collect( Collectors.toList( ) );
-        listFormQuestion = addIteration( formResponse, listFormQuestion );
-        return listFormQuestion;
+        return addIteration( index, config.getQuestions( formResponse.getFormId( ) ) );
     }
 
     /**
      * Adds the questions for iterations
      * 
-     * @param formResponse
-     *            the form response containing the iterations
+     * @param index
+     *            the index of the form response containing the iterations
      * @param listQuestion
      *            the list of questions to complete
      * @return the completed list of questions
      */
-    private List<Question> addIteration( FormResponse formResponse, List<Question> listQuestion )
+    private List<Question> addIteration( FormQuestionResponseIndex index, List<Question> listQuestion )
     {
         List<Question> listQuestionIteration = new ArrayList<>( );
 
         for ( Question question : listQuestion )
         {
-            List<FormQuestionResponse> listFormQuestionResponse = _formsTaskService.findResponses( formResponse, question );
+            List<FormQuestionResponse> listFormQuestionResponse = index.getResponses( question );
 
             if ( CollectionUtils.isEmpty( listFormQuestionResponse ) )
             {
@@ -121,39 +130,70 @@ public class EditFormResponseTaskService implements IEditFormResponseTaskService
         return listQuestionIteration;
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
     public void saveResponses( FormResponse formResponse, List<FormQuestionResponse> listFormQuestionResponse )
     {
+        saveSteps( formResponse, listFormQuestionResponse );
+
         for ( FormQuestionResponse formQuestionResponse : listFormQuestionResponse )
         {
-            saveStep( formQuestionResponse );
             saveResponses( formQuestionResponse );
         }
         _formService.fireFormResponseEventUpdate( formResponse );
     }
 
     /**
-     * Saves the step associated to the specified form question response
+     * Saves the steps associated to the specified form question responses. The steps of each form response are loaded once, the steps of the form are
+     * loaded once if a step is missing, and each missing step is created once.
      * 
-     * @param formQuestionResponse
-     *            the form question response
+     * @param formResponse
+     *            the form response
+     * @param listFormQuestionResponse
+     *            the form question responses
      */
-    private void saveStep( FormQuestionResponse formQuestionResponse )
+    private void saveSteps( FormResponse formResponse, List<FormQuestionResponse> listFormQuestionResponse )
     {
-        List<FormResponseStep> listFormResponseStep = FormResponseStepHome.findStepsByFormResponse( formQuestionResponse.getIdFormResponse( ) );
-        boolean bFormResponseStepFound = listFormResponseStep.stream( )
-                .anyMatch( formResponseStep -> formResponseStep.getStep( ).getId( ) == formQuestionResponse.getIdStep( ) );
+        Map<Integer, Set<Integer>> mapIdStepsByFormResponse = new HashMap<>( );
+        Map<Integer, Step> mapStepsById = null;
 
-        if ( !bFormResponseStepFound )
+        for ( FormQuestionResponse formQuestionResponse : listFormQuestionResponse )
         {
-            FormResponseStep formResponseStep = new FormResponseStep( );
-            formResponseStep.setFormResponseId( formQuestionResponse.getIdFormResponse( ) );
-            formResponseStep.setStep( StepHome.findByPrimaryKey( formQuestionResponse.getIdStep( ) ) );
-            formResponseStep.setOrder( FormsConstants.ORDER_NOT_SET );
+            Set<Integer> setIdStep = mapIdStepsByFormResponse.computeIfAbsent( formQuestionResponse.getIdFormResponse( ), this::findIdSteps );
+
+            if ( setIdStep.add( formQuestionResponse.getIdStep( ) ) )
+            {
+                if ( mapStepsById == null )
+                {
+                    mapStepsById = StepHome.getStepsListByForm( formResponse.getFormId( ) ).stream( )
+                            .collect( Collectors.toMap( Step::getId, Function.identity( ) ) );
+                }
+
+                FormResponseStep formResponseStep = new FormResponseStep( );
+                formResponseStep.setFormResponseId( formQuestionResponse.getIdFormResponse( ) );
+                formResponseStep.setStep( mapStepsById.get( formQuestionResponse.getIdStep( ) ) );
+                formResponseStep.setOrder( FormsConstants.ORDER_NOT_SET );
 
-            FormResponseStepHome.create( formResponseStep );
+                FormResponseStepHome.create( formResponseStep );
+            }
         }
     }
 
+    /**
+     * Finds the ids of the steps of the specified form response
+     * 
+     * @param nIdFormResponse
+     *            the id of the form response
+     * @return the ids of the steps
+     */
+    private Set<Integer> findIdSteps( int nIdFormResponse )
+    {
+        return FormResponseStepHome.findStepsByFormResponse( nIdFormResponse ).stream( ).map( formResponseStep -> formResponseStep.getStep( ).getId( ) )
+                .collect( Collectors.toCollection( HashSet::new ) );
+    }
+
     /**
      * Saves the question associated to the specified form question response
      * 
@@ -0,0 +1,135 @@
+/*
+ * Copyright (c) 2002-2021, City of Paris
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ *  1. Redistributions of source code must retain the above copyright notice
+ *     and the following disclaimer.
+ *
+ *  2. Redistributions in binary form must reproduce the above copyright notice
+ *     and the following disclaimer in the documentation and/or other materials
+ *     provided with the distribution.
+ *
+ *  3. Neither the name of 'Mairie de Paris' nor 'Lutece' nor the names of its
+ *     contributors may be used to endorse or promote products derived from
+ *     this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ *
+ * License 1.0
+ */
+package fr.paris.lutece.plugins.workflow.modules.forms.service.task;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import fr.paris.lutece.plugins.forms.business.FormQuestionResponse;
+import fr.paris.lutece.plugins.forms.business.FormResponse;
+import fr.paris.lutece.plugins.forms.business.FormResponseStep;
+import fr.paris.lutece.plugins.forms.business.Question;
+
+/**
+ * Index of the question responses of a form response, by question and by iteration. It is built once per operation, so that looking up the responses of
+ * each question does not walk all the steps of the form response.
+ */
+public final class FormQuestionResponseIndex
+{
+    private final List<FormQuestionResponse> _listResponses = new ArrayList<>( );
+    private final Map<Integer, List<FormQuestionResponse>> _mapResponsesByQuestion = new HashMap<>( );
+    private final Map<Integer, Map<Integer, FormQuestionResponse>> _mapResponseByIteration = new HashMap<>( );
+
+    /**
+     * Constructor
+     * 
+     * @param formResponse
+     *            the form response to index, with its steps
+     */
+    public FormQuestionResponseIndex( FormResponse formResponse )
+    {
+        for ( FormResponseStep formResponseStep : formResponse.getSteps( ) )
+        {
+            for ( FormQuestionResponse formQuestionResponse : formResponseStep.getQuestions( ) )
+            {
+                Question question = formQuestionResponse.getQuestion( );
+
+                _listResponses.add( formQuestionResponse );
+                _mapResponsesByQuestion.computeIfAbsent( question.getId( ), k -> new ArrayList<>( ) ).add( formQuestionResponse );
+                _mapResponseByIteration.computeIfAbsent( question.getId( ), k -> new HashMap<>( ) ).putIfAbsent( question.getIterationNumber( ),
+                        formQuestionResponse );
+            }
+        }
+    }
+
+    /**
+     * Gives all the responses of the form response
+     * 
+     * @return the list of responses, in the order of the form response
+     */
+    public List<FormQuestionResponse> getResponses( )
+    {
+        return Collections.unmodifiableList( _listResponses );
+    }
+
+    /**
+     * Finds the responses of the specified question, for all its iterations
+     * 
+     * @param question
+     *            the question
+     * @return the list of responses, in the order of the form response
+     */
+    public List<FormQuestionResponse> getResponses( Question question )
+    {
+        return Collections.unmodifiableList( _mapResponsesByQuestion.getOrDefault( question.getId( ), Collections.emptyList( ) ) );
+    }
+
+    /**
+     * Finds the response of the specified question, for the iteration number of the question
+     * 
+     * @param question
+     *            the question
+     * @return the response, or {@code null} if the question has no response for this iteration
+     */
+    public FormQuestionResponse getResponse( Question question )
+    {
+        Map<Integer, FormQuestionResponse> mapResponseByIteration = _mapResponseByIteration.get( question.getId( ) );
+
+        return mapResponseByIteration != null ? mapResponseByIteration.get( question.getIterationNumber( ) ) : null;
+    }
+
+    /**
+     * Gives the ids of the specified questions
+     * 
+     * @param listQuestion
+     *            the questions
+     * @return the set of the ids of the questions
+     */
+    public static Set<Integer> toQuestionIds( List<Question> listQuestion )
+    {
+        Set<Integer> questionIds = new HashSet<>( );
+
+        for ( Question question : listQuestion )
+        {
+            questionIds.add( question.getId( ) );
+        }
+
+        return questionIds;
+    }
+}
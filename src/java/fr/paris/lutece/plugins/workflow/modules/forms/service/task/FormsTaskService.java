@@ -34,7 +34,10 @@
 package fr.paris.lutece.plugins.workflow.modules.forms.service.task;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 import javax.inject.Inject;
@@ -55,10 +58,13 @@ import fr.paris.lutece.plugins.forms.service.entrytype.EntryTypeDate;
 import fr.paris.lutece.plugins.forms.web.StepDisplayTree;
 import fr.paris.lutece.plugins.forms.web.entrytype.DisplayType;
 import fr.paris.lutece.plugins.forms.web.entrytype.IEntryDataService;
+import fr.paris.lutece.plugins.genericattributes.business.EntryType;
 import fr.paris.lutece.plugins.genericattributes.business.Response;
 import fr.paris.lutece.plugins.genericattributes.service.entrytype.AbstractEntryTypeUpload;
 import fr.paris.lutece.plugins.genericattributes.service.entrytype.EntryTypeServiceManager;
 import fr.paris.lutece.plugins.genericattributes.service.entrytype.IEntryTypeService;
+import fr.paris.lutece.plugins.workflow.modules.forms.service.FormQuestionsSnapshot;
+import fr.paris.lutece.plugins.workflow.modules.forms.service.cache.FormQuestionsCacheService;
 import fr.paris.lutece.plugins.workflow.modules.forms.utils.EditableResponse;
 import fr.paris.lutece.plugins.workflowcore.business.action.Action;
 import fr.paris.lutece.plugins.workflowcore.business.resource.ResourceHistory;
@@ -141,14 +147,47 @@ public class FormsTaskService implements IFormsTaskService
     @Override
     public List<String> buildFormStepDisplayTreeList( HttpServletRequest request, List<Step> listStep, List<Question> listQuestionToDisplay,
             FormResponse formResponse, DisplayType displayType )
+    {
+        List<FormQuestionResponse> listFormQuestionResponse = FormQuestionResponseHome.getFormQuestionResponseListByFormResponse( formResponse.getId( ) );
+
+        return buildFormStepDisplayTreeList( request, listStep, FormQuestionResponseIndex.toQuestionIds( listQuestionToDisplay ), formResponse,
+                listFormQuestionResponse, displayType );
+    }
+
+    @Override
+    public List<String> buildFormStepDisplayTreeList( HttpServletRequest request, List<Step> listStep, Set<Integer> questionIdsToDisplay,
+            FormResponse formResponse, FormQuestionResponseIndex index, DisplayType displayType )
+    {
+        return buildFormStepDisplayTreeList( request, listStep, questionIdsToDisplay, formResponse, index.getResponses( ), displayType );
+    }
+
+    /**
+     * Builds the display trees of the specified steps from the specified responses
+     * 
+     * @param request
+     *            the request
+     * @param listStep
+     *            the steps to display
+     * @param questionIdsToDisplay
+     *            the ids of the questions to display
+     * @param formResponse
+     *            the form response
+     * @param listResponse
+     *            the responses of the form response
+     * @param displayType
+     *            the display type
+     * @return the display trees of the steps
+     */
+    private List<String> buildFormStepDisplayTreeList( HttpServletRequest request, List<Step> listStep, Set<Integer> questionIdsToDisplay,
+            FormResponse formResponse, List<FormQuestionResponse> listResponse, DisplayType displayType )
     {
         List<String> listFormDisplayTrees = new ArrayList<>( );
 
-        List<FormQuestionResponse> listFormQuestionResponse = FormQuestionResponseHome.getFormQuestionResponseListByFormResponse( formResponse.getId( ) );
-        List<Integer> listQuestionToDisplayId = listQuestionToDisplay.stream( ).map( Question::getId ).collect( Collectors.toList( ) );
+        // The step display trees take a list of the ids, shared by all the steps
+        List<Integer> listQuestionToDisplayId = new ArrayList<>( questionIdsToDisplay );
 
-        listFormQuestionResponse = listFormQuestionResponse.stream( )
-                .filter( formQuestionResponse -> listQuestionToDisplayId.contains( formQuestionResponse.getQuestion( ).getId( ) ) )
+        List<FormQuestionResponse> listFormQuestionResponse = listResponse.stream( )
+                .filter( formQuestionResponse -> questionIdsToDisplay.contains( formQuestionResponse.getQuestion( ).getId( ) ) )
                 .collect( Collectors.toList( ) );
 
         for ( FormQuestionResponse formQuestionResponse : listFormQuestionResponse )
@@ -182,13 +221,26 @@ public class FormsTaskService implements IFormsTaskService
     public List<EditableResponse> findChangedResponses( List<EditableResponse> listEditableResponse )
     {
         List<EditableResponse> listChangedResponse = new ArrayList<>( );
+        Map<Integer, IEntryDataService> mapDataServiceByEntryType = new HashMap<>( );
 
         for ( EditableResponse editableResponse : listEditableResponse )
         {
-            IEntryDataService dataService = EntryServiceManager.getInstance( )
-                    .getEntryDataService( editableResponse.getQuestion( ).getEntry( ).getEntryType( ) );
+            FormQuestionResponse responseSaved = editableResponse.getResponseSaved( );
+            FormQuestionResponse responseFromForm = editableResponse.getResponseFromForm( );
+
+            // Identical values need no full comparison, unless a file is involved
+            if ( responseSaved != null && responseFromForm != null && !ResponseFingerprint.hasFile( responseSaved )
+                    && !ResponseFingerprint.hasFile( responseFromForm )
+                    && ResponseFingerprint.of( responseSaved ).equals( ResponseFingerprint.of( responseFromForm ) ) )
+            {
+                continue;
+            }
+
+            EntryType entryType = editableResponse.getQuestion( ).getEntry( ).getEntryType( );
+            IEntryDataService dataService = mapDataServiceByEntryType.computeIfAbsent( entryType.getIdType( ),
+                    nIdType -> EntryServiceManager.getInstance( ).getEntryDataService( entryType ) );
 
-            if ( dataService.isResponseChanged( editableResponse.getResponseSaved( ), editableResponse.getResponseFromForm( ) ) )
+            if ( dataService.isResponseChanged( responseSaved, responseFromForm ) )
             {
                 listChangedResponse.add( editableResponse );
             }
@@ -199,6 +251,13 @@ public class FormsTaskService implements IFormsTaskService
 
     @Override
     public List<EditableResponse> createEditableResponses( FormResponse formResponse, List<Question> listQuestion, HttpServletRequest request )
+    {
+        return createEditableResponses( formResponse, new FormQuestionResponseIndex( formResponse ), listQuestion, request );
+    }
+
+    @Override
+    public List<EditableResponse> createEditableResponses( FormResponse formResponse, FormQuestionResponseIndex index, List<Question> listQuestion,
+            HttpServletRequest request )
     {
         List<EditableResponse> listEditableResponse = new ArrayList<>( );
 
@@ -207,7 +266,7 @@ public class FormsTaskService implements IFormsTaskService
             IEntryDataService entryDataService = EntryServiceManager.getInstance( ).getEntryDataService( question.getEntry( ).getEntryType( ) );
             FormQuestionResponse responseFromForm = entryDataService.createResponseFromRequest( question, request, false );
             responseFromForm.setIdFormResponse( formResponse.getId( ) );
-            FormQuestionResponse responseSaved = findSavedResponse( formResponse, question );
+            FormQuestionResponse responseSaved = index.getResponse( question );
 
             if ( responseSaved == null )
             {
@@ -242,24 +301,6 @@ public class FormsTaskService implements IFormsTaskService
         return listEditableResponse;
     }
 
-    private FormQuestionResponse findSavedResponse( FormResponse formResponse, Question question )
-    {
-        FormQuestionResponse formQuestionResponse = null;
-
-        List<FormQuestionResponse> listResponseSaved = findResponses( formResponse, question );
-
-        for ( FormQuestionResponse responseSaved : listResponseSaved )
-        {
-            if ( responseSaved.getQuestion( ).getIterationNumber( ) == question.getIterationNumber( ) )
-            {
-                formQuestionResponse = responseSaved;
-                break;
-            }
-        }
-
-        return formQuestionResponse;
-    }
-
     @Override
     public List<FormQuestionResponse> findResponses( FormResponse formResponse, Question question )
     {
@@ -329,6 +370,24 @@ public class FormsTaskService implements IFormsTaskService
         return response;
     }
 
+    @Override
+    public FormQuestionsSnapshot findFormQuestionsSnapshot( int nIdHistory )
+    {
+        ResourceHistory resourceHistory = _resourceHistoryService.findByPrimaryKey( nIdHistory );
+
+        if ( resourceHistory != null && FormResponse.RESOURCE_TYPE.equals( resourceHistory.getResourceType( ) ) )
+        {
+            FormResponse formResponse = FormResponseHome.loadById( resourceHistory.getIdResource( ) );
+
+            if ( formResponse != null )
+            {
+                return FormQuestionsCacheService.getInstance( ).getSnapshot( formResponse.getFormId( ) );
+            }
+        }
+
+        return null;
+    }
+
     @Override
     public String createPreviousNewValue( FormQuestionResponse responseForm )
     {
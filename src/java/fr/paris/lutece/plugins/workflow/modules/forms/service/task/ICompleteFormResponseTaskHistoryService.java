@@ -34,6 +34,7 @@
 package fr.paris.lutece.plugins.workflow.modules.forms.service.task;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 import fr.paris.lutece.plugins.workflow.modules.forms.business.CompleteFormResponseTaskHistory;
 import fr.paris.lutece.plugins.workflowcore.business.resource.ResourceHistory;
@@ -50,6 +51,28 @@ public interface ICompleteFormResponseTaskHistoryService
      */
     void create( CompleteFormResponseTaskHistory completeFormResponseTaskHistory );
 
+    /**
+     * Creation of several instances of CompleteFormResponseTaskHistory in a single batch
+     * 
+     * @param listCompleteFormResponseTaskHistory
+     *            The instances of CompleteFormResponseTaskHistory to store
+     */
+    void createAll( List<CompleteFormResponseTaskHistory> listCompleteFormResponseTaskHistory );
+
+    /**
+     * Read the CompleteFormResponseTaskHistorys of a task, ordered by id history, without loading them all in memory. The questions of the histories only hold their id.
+     * 
+     * @param nIdTask
+     *            the id of the task
+     * @param nIdQuestion
+     *            the id of the question, or a negative or zero value for all the questions
+     * @param nIdHistoryAfter
+     *            the id of history after which the records are read
+     * @param consumer
+     *            the consumer of the CompleteFormResponseTaskHistorys
+     */
+    void forEachByTask( int nIdTask, int nIdQuestion, int nIdHistoryAfter, Consumer<CompleteFormResponseTaskHistory> consumer );
+
     /**
      * Return a list of CompleteFormResponseTaskHistory with an idHistory and an idTask
      * 
@@ -59,6 +82,34 @@ public interface ICompleteFormResponseTaskHistoryService
      */
     List<CompleteFormResponseTaskHistory> load( int nIdHistory, int nIdTask );
 
+    /**
+     * Return the CompleteFormResponseTaskHistorys of a history and a task without the values longer than a maximum length. The length of the values is set instead.
+     * 
+     * @param nIdHistory
+     *            the id of the history
+     * @param nIdTask
+     *            the id of the task
+     * @param nMaxValueLength
+     *            the maximum length of the values which are loaded
+     * @return a list of CompleteFormResponseTaskHistory
+     */
+    List<CompleteFormResponseTaskHistory> loadSummary( int nIdHistory, int nIdTask, int nMaxValueLength );
+
+    /**
+     * Return the CompleteFormResponseTaskHistory of a question, with its values
+     * 
+     * @param nIdHistory
+     *            the id of the history
+     * @param nIdTask
+     *            the id of the task
+     * @param nIdQuestion
+     *            the id of the question
+     * @param nIterationNumber
+     *            the iteration number of the question
+     * @return the CompleteFormResponseTaskHistory, or null if it does not exist
+     */
+    CompleteFormResponseTaskHistory loadValue( int nIdHistory, int nIdTask, int nIdQuestion, int nIterationNumber );
+
     /**
      * Deletes all CompleteFormResponseTaskHistory with an History and Task
      * 
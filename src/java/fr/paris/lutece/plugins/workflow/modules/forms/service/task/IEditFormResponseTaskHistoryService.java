@@ -34,6 +34,7 @@
 package fr.paris.lutece.plugins.workflow.modules.forms.service.task;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 import fr.paris.lutece.plugins.workflow.modules.forms.business.EditFormResponseTaskHistory;
 import fr.paris.lutece.plugins.workflowcore.business.resource.ResourceHistory;
@@ -50,6 +51,28 @@ public interface IEditFormResponseTaskHistoryService
      */
     void create( EditFormResponseTaskHistory editFormResponseTaskHistory );
 
+    /**
+     * Creation of several instances of EditFormResponseTaskHistory in a single batch
+     * 
+     * @param listEditFormResponseTaskHistory
+     *            The instances of EditFormResponseTaskHistory to store
+     */
+    void createAll( List<EditFormResponseTaskHistory> listEditFormResponseTaskHistory );
+
+    /**
+     * Read the EditFormResponseTaskHistorys of a task, ordered by id history, without loading them all in memory. The questions of the histories only hold their id.
+     * 
+     * @param nIdTask
+     *            the id of the task
+     * @param nIdQuestion
+     *            the id of the question, or a negative or zero value for all the questions
+     * @param nIdHistoryAfter
+     *            the id of history after which the records are read
+     * @param consumer
+     *            the consumer of the EditFormResponseTaskHistorys
+     */
+    void forEachByTask( int nIdTask, int nIdQuestion, int nIdHistoryAfter, Consumer<EditFormResponseTaskHistory> consumer );
+
     /**
      * Return a list of EditFormResponseTaskHistory with an idHistory and an idTask
      * 
@@ -59,6 +82,34 @@ public interface IEditFormResponseTaskHistoryService
      */
     List<EditFormResponseTaskHistory> load( int nIdHistory, int nIdTask );
 
+    /**
+     * Return the EditFormResponseTaskHistorys of a history and a task without the values longer than a maximum length. The length of the values is set instead.
+     * 
+     * @param nIdHistory
+     *            the id of the history
+     * @param nIdTask
+     *            the id of the task
+     * @param nMaxValueLength
+     *            the maximum length of the values which are loaded
+     * @return a list of EditFormResponseTaskHistory
+     */
+    List<EditFormResponseTaskHistory> loadSummary( int nIdHistory, int nIdTask, int nMaxValueLength );
+
+    /**
+     * Return the EditFormResponseTaskHistory of a question, with its values
+     * 
+     * @param nIdHistory
+     *            the id of the history
+     * @param nIdTask
+     *            the id of the task
+     * @param nIdQuestion
+     *            the id of the question
+     * @param nIterationNumber
+     *            the iteration number of the question
+     * @return the EditFormResponseTaskHistory, or null if it does not exist
+     */
+    EditFormResponseTaskHistory loadValue( int nIdHistory, int nIdTask, int nIdQuestion, int nIterationNumber );
+
     /**
      * Deletes all EditFormResponseTaskHistory with an History and Task
      * 
@@ -56,9 +56,23 @@ public interface IEditFormResponseTaskService
     List<Question> findQuestionsToEdit( ITask task, FormResponse formResponse );
 
     /**
-     * Saves the specified responses
+     * Finds the questions to edit for the specified form response, looking up the iterations in an index of the form response
      * 
+     * @param task
+     *            the task
      * @param formResponse
+     *            the form response
+     * @param index
+     *            the index of the responses of the form response
+     * @return the list of questions
+     */
+    List<Question> findQuestionsToEdit( ITask task, FormResponse formResponse, FormQuestionResponseIndex index );
+
+    /**
+     * Saves the specified responses, after the missing steps of the form response have been created, and notifies the update of the form response
+     * 
+     * @param formResponse
+     *            the form response
      * @param listFormQuestionResponse
      *            the responses to save
      */
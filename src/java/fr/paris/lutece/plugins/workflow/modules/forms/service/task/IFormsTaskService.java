@@ -34,6 +34,7 @@
 package fr.paris.lutece.plugins.workflow.modules.forms.service.task;
 
 import java.util.List;
+import java.util.Set;
 
 import javax.servlet.http.HttpServletRequest;
 
@@ -42,6 +43,7 @@ import fr.paris.lutece.plugins.forms.business.FormResponse;
 import fr.paris.lutece.plugins.forms.business.Question;
 import fr.paris.lutece.plugins.forms.business.Step;
 import fr.paris.lutece.plugins.forms.web.entrytype.DisplayType;
+import fr.paris.lutece.plugins.workflow.modules.forms.service.FormQuestionsSnapshot;
 import fr.paris.lutece.plugins.workflow.modules.forms.utils.EditableResponse;
 import fr.paris.lutece.plugins.workflowcore.business.resource.ResourceHistory;
 import fr.paris.lutece.portal.service.message.SiteMessageException;
@@ -99,6 +101,26 @@ public interface IFormsTaskService
     List<String> buildFormStepDisplayTreeList( HttpServletRequest request, List<Step> listStep, List<Question> listQuestionToDisplay, FormResponse formResponse,
             DisplayType displayType );
 
+    /**
+     * Builds the display trees of the specified steps from the responses already loaded with the form response, without querying them again
+     * 
+     * @param request
+     *            the request
+     * @param listStep
+     *            the steps to display
+     * @param questionIdsToDisplay
+     *            the ids of the questions to display
+     * @param formResponse
+     *            the form response
+     * @param index
+     *            the index of the responses of the form response
+     * @param displayType
+     *            the display type
+     * @return the display trees of the steps
+     */
+    List<String> buildFormStepDisplayTreeList( HttpServletRequest request, List<Step> listStep, Set<Integer> questionIdsToDisplay, FormResponse formResponse,
+            FormQuestionResponseIndex index, DisplayType displayType );
+
     /**
      * Finds the responses that have changed
      * 
@@ -121,6 +143,22 @@ public interface IFormsTaskService
      */
     List<EditableResponse> createEditableResponses( FormResponse formResponse, List<Question> listQuestion, HttpServletRequest request );
 
+    /**
+     * Creates the editable responses from the specified form response and questions, looking up the saved responses in an index of the form response
+     * 
+     * @param formResponse
+     *            the form response
+     * @param index
+     *            the index of the responses of the form response
+     * @param listQuestion
+     *            the list of questions
+     * @param request
+     *            the request containing the user inputs
+     * @return the list of editable responses
+     */
+    List<EditableResponse> createEditableResponses( FormResponse formResponse, FormQuestionResponseIndex index, List<Question> listQuestion,
+            HttpServletRequest request );
+
     /**
      * Finds the responses of the specified question from the specified form response
      * 
@@ -166,6 +204,15 @@ public interface IFormsTaskService
      */
     FormResponse getFormResponseFromIdHistory( int nIdHistory );
 
+    /**
+     * Get the question snapshot of the form of the resource of a given id history
+     * 
+     * @param nIdHistory
+     *            the id history
+     * @return the snapshot, or null if the resource is not a form response
+     */
+    FormQuestionsSnapshot findFormQuestionsSnapshot( int nIdHistory );
+
     /**
      * Create a string with previous or new value to set in history
      * 
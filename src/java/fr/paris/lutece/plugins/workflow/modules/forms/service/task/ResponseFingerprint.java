@@ -0,0 +1,125 @@
+/*
+ * Copyright (c) 2002-2021, City of Paris
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ *  1. Redistributions of source code must retain the above copyright notice
+ *     and the following disclaimer.
+ *
+ *  2. Redistributions in binary form must reproduce the above copyright notice
+ *     and the following disclaimer in the documentation and/or other materials
+ *     provided with the distribution.
+ *
+ *  3. Neither the name of 'Mairie de Paris' nor 'Lutece' nor the names of its
+ *     contributors may be used to endorse or promote products derived from
+ *     this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ *
+ * License 1.0
+ */
+package fr.paris.lutece.plugins.workflow.modules.forms.service.task;
+
+import fr.paris.lutece.plugins.forms.business.FormQuestionResponse;
+import fr.paris.lutece.plugins.genericattributes.business.Response;
+
+/**
+ * Builds the canonical fingerprint of a question response, from the field, the value and the file of each of its responses. Two responses without file
+ * and with the same fingerprint hold the same values, so that the full comparison of the entry data service is only needed when the fingerprints differ
+ * or when a file is involved.
+ */
+final class ResponseFingerprint
+{
+    private static final char NULL = '-';
+    private static final char SEPARATOR = ':';
+    private static final char RESPONSE_SEPARATOR = ';';
+
+    /**
+     * Private constructor
+     */
+    private ResponseFingerprint( )
+    {
+    }
+
+    /**
+     * Builds the fingerprint of the specified question response. Each value is prefixed by its length, so that two different lists of values can not give
+     * the same fingerprint.
+     * 
+     * @param formQuestionResponse
+     *            the question response
+     * @return the fingerprint
+     */
+    static String of( FormQuestionResponse formQuestionResponse )
+    {
+        StringBuilder sbFingerprint = new StringBuilder( );
+
+        if ( formQuestionResponse.getEntryResponse( ) != null )
+        {
+            for ( Response response : formQuestionResponse.getEntryResponse( ) )
+            {
+                sbFingerprint.append( response.getField( ) != null ? response.getField( ).getIdField( ) : 0 ).append( SEPARATOR );
+                appendValue( sbFingerprint, response.getResponseValue( ) );
+                if ( response.getFile( ) != null )
+                {
+                    sbFingerprint.append( response.getFile( ).getIdFile( ) );
+                }
+                else
+                {
+                    sbFingerprint.append( NULL );
+                }
+                sbFingerprint.append( RESPONSE_SEPARATOR );
+            }
+        }
+
+        return sbFingerprint.toString( );
+    }
+
+    /**
+     * Tells if the specified question response holds a file. The file of a new upload has no id yet, so the fingerprints of question responses holding
+     * files can not tell whether the files are the same.
+     * 
+     * @param formQuestionResponse
+     *            the question response
+     * @return true if one of the responses holds a file, false otherwise
+     */
+    static boolean hasFile( FormQuestionResponse formQuestionResponse )
+    {
+        return formQuestionResponse.getEntryResponse( ) != null
+                && formQuestionResponse.getEntryResponse( ).stream( ).anyMatch( response -> response.getFile( ) != null );
+    }
+
+    /**
+     * Appends a value, prefixed by its length
+     * 
+     * @param sbFingerprint
+     *            the fingerprint being built
+     * @param strValue
+     *            the value. May be null
+     */
+    private static void appendValue( StringBuilder sbFingerprint, String strValue )
+    {
+        if ( strValue == null )
+        {
+            sbFingerprint.append( NULL );
+        }
+        else
+        {
+            sbFingerprint.append( strValue.length( ) ).append( SEPARATOR ).append( strValue );
+        }
+
+        sbFingerprint.append( SEPARATOR );
+    }
+}
@@ -48,6 +48,8 @@ import fr.paris.lutece.plugins.workflow.modules.forms.business.ResubmitFormRespo
 import fr.paris.lutece.plugins.workflow.modules.forms.business.ResubmitFormResponseTaskConfig;
 import fr.paris.lutece.plugins.workflow.modules.forms.business.ResubmitFormResponseValue;
 import fr.paris.lutece.plugins.workflow.modules.forms.service.IResubmitFormResponseService;
+import fr.paris.lutece.plugins.workflow.modules.forms.service.cache.ActionTaskIndexCacheService;
+import fr.paris.lutece.plugins.workflow.modules.forms.service.cache.TaskInformationCacheService;
 import fr.paris.lutece.plugins.workflowcore.business.state.State;
 import fr.paris.lutece.plugins.workflowcore.service.config.ITaskConfigService;
 import fr.paris.lutece.plugins.workflowcore.service.state.IStateService;
@@ -125,6 +127,7 @@ public class ResubmitFormResponseTask extends Task
     public void doRemoveTaskInformation( int nIdHistory )
     {
         _resubmitFormResponseService.removeByIdHistory( nIdHistory, getId( ) );
+        TaskInformationCacheService.getInstance( ).removeTaskInformation( nIdHistory, getId( ) );
     }
 
     @Override
@@ -132,6 +135,7 @@ public class ResubmitFormResponseTask extends Task
     {
         _resubmitFormResponseService.removeByIdTask( getId( ) );
         _taskResubmitResponseConfigService.remove( getId( ) );
+        ActionTaskIndexCacheService.getInstance( ).removeAll( );
     }
 
     @Override
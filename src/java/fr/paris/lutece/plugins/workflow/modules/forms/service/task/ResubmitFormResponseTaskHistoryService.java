@@ -33,12 +33,12 @@
  */
 package fr.paris.lutece.plugins.workflow.modules.forms.service.task;
 
+import java.util.Collections;
 import java.util.List;
+import java.util.function.Consumer;
 
 import javax.inject.Inject;
 
-import fr.paris.lutece.plugins.forms.business.Question;
-import fr.paris.lutece.plugins.forms.business.QuestionHome;
 import fr.paris.lutece.plugins.workflow.modules.forms.business.IResubmitFormResponseTaskHistoryDAO;
 import fr.paris.lutece.plugins.workflow.modules.forms.business.ResubmitFormResponseTaskHistory;
 import fr.paris.lutece.plugins.workflowcore.business.resource.ResourceHistory;
@@ -49,25 +49,64 @@ public class ResubmitFormResponseTaskHistoryService implements IResubmitFormResp
     @Inject
     private IResubmitFormResponseTaskHistoryDAO _resubmitFormResponseTaskHistoryDAO;
 
+    @Inject
+    private IFormsTaskService _formsTaskService;
+
     @Override
     public void create( ResubmitFormResponseTaskHistory resubmitFormResponseTaskHistory )
     {
         _resubmitFormResponseTaskHistoryDAO.insert( resubmitFormResponseTaskHistory );
     }
 
+    @Override
+    public void createAll( List<ResubmitFormResponseTaskHistory> listResubmitFormResponseTaskHistory )
+    {
+        _resubmitFormResponseTaskHistoryDAO.insertAll( listResubmitFormResponseTaskHistory );
+    }
+
+    @Override
+    public void forEachByTask( int nIdTask, int nIdQuestion, int nIdHistoryAfter, Consumer<ResubmitFormResponseTaskHistory> consumer )
+    {
+        _resubmitFormResponseTaskHistoryDAO.selectByIdTask( nIdTask, nIdQuestion, nIdHistoryAfter, consumer );
+    }
+
     @Override
     public List<ResubmitFormResponseTaskHistory> load( int nIdHistory, int nIdTask )
     {
         List<ResubmitFormResponseTaskHistory> listResubmitFormResponseTaskHistory = _resubmitFormResponseTaskHistoryDAO
                 .selectEditFormResponseHistoryByIdHistoryAndIdTask( nIdHistory, nIdTask );
-        listResubmitFormResponseTaskHistory.forEach( ( ResubmitFormResponseTaskHistory history ) -> {
-            Question question = QuestionHome.findByPrimaryKey( history.getQuestion( ).getId( ) );
-            question.setIterationNumber( history.getQuestion( ).getIterationNumber( ) );
-            history.setQuestion( question );
-        } );
+        if ( !listResubmitFormResponseTaskHistory.isEmpty( ) )
+        {
+            TaskHistoryQuestionResolver.resolveQuestions( listResubmitFormResponseTaskHistory, _formsTaskService.findFormQuestionsSnapshot( nIdHistory ) );
+        }
         return listResubmitFormResponseTaskHistory;
     }
 
+    @Override
+    public List<ResubmitFormResponseTaskHistory> loadSummary( int nIdHistory, int nIdTask, int nMaxValueLength )
+    {
+        List<ResubmitFormResponseTaskHistory> listResubmitFormResponseTaskHistory = _resubmitFormResponseTaskHistoryDAO
+                .selectSummaryByIdHistoryAndIdTask( nIdHistory, nIdTask, nMaxValueLength );
+        if ( !listResubmitFormResponseTaskHistory.isEmpty( ) )
+        {
+            TaskHistoryQuestionResolver.resolveQuestions( listResubmitFormResponseTaskHistory, _formsTaskService.findFormQuestionsSnapshot( nIdHistory ) );
+        }
+        return listResubmitFormResponseTaskHistory;
+    }
+
+    @Override
+    public ResubmitFormResponseTaskHistory loadValue( int nIdHistory, int nIdTask, int nIdQuestion, int nIterationNumber )
+    {
+        ResubmitFormResponseTaskHistory resubmitFormResponseTaskHistory = _resubmitFormResponseTaskHistoryDAO
+                .selectByPrimaryKey( nIdHistory, nIdTask, nIdQuestion, nIterationNumber );
+        if ( resubmitFormResponseTaskHistory != null )
+        {
+            TaskHistoryQuestionResolver.resolveQuestions( Collections.singletonList( resubmitFormResponseTaskHistory ),
+                    _formsTaskService.findFormQuestionsSnapshot( nIdHistory ) );
+        }
+        return resubmitFormResponseTaskHistory;
+    }
+
     @Override
     public void removeAllByHistoryAndTask( ResourceHistory history, ITask task )
     {
@@ -0,0 +1,87 @@
+/*
+ * Copyright (c) 2002-2021, City of Paris
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ *  1. Redistributions of source code must retain the above copyright notice
+ *     and the following disclaimer.
+ *
+ *  2. Redistributions in binary form must reproduce the above copyright notice
+ *     and the following disclaimer in the documentation and/or other materials
+ *     provided with the distribution.
+ *
+ *  3. Neither the name of 'Mairie de Paris' nor 'Lutece' nor the names of its
+ *     contributors may be used to endorse or promote products derived from
+ *     this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ *
+ * License 1.0
+ */
+package fr.paris.lutece.plugins.workflow.modules.forms.service.task;
+
+import java.util.List;
+
+import fr.paris.lutece.plugins.forms.business.Question;
+import fr.paris.lutece.plugins.forms.business.QuestionHome;
+import fr.paris.lutece.plugins.workflow.modules.forms.business.AbstractFormResponseTaskHistory;
+import fr.paris.lutece.plugins.workflow.modules.forms.service.FormQuestionsSnapshot;
+
+/**
+ * Resolves the questions of the task histories from the question snapshot of the form, so that loading a history does not load its questions one by
+ * one
+ */
+final class TaskHistoryQuestionResolver
+{
+    /**
+     * Private constructor
+     */
+    private TaskHistoryQuestionResolver( )
+    {
+    }
+
+    /**
+     * Replaces the question of each history, which only holds its id and iteration number, by the full question. The snapshot hands out copies of its
+     * questions, so that the iteration number can be set without modifying the snapshot. A question which is not found in the snapshot is loaded on its
+     * own, and a question which does not exist anymore is left as is.
+     * 
+     * @param listHistory
+     *            the histories
+     * @param snapshot
+     *            the question snapshot of the form. May be null
+     * @param <H>
+     *            the type of the histories
+     */
+    static <H extends AbstractFormResponseTaskHistory> void resolveQuestions( List<H> listHistory, FormQuestionsSnapshot snapshot )
+    {
+        for ( H history : listHistory )
+        {
+            Question questionHistory = history.getQuestion( );
+            Question question = snapshot != null ? snapshot.getQuestion( questionHistory.getId( ) ) : null;
+
+            if ( question == null )
+            {
+                question = QuestionHome.findByPrimaryKey( questionHistory.getId( ) );
+            }
+
+            if ( question != null )
+            {
+                question.setIterationNumber( questionHistory.getIterationNumber( ) );
+                history.setQuestion( question );
+            }
+        }
+    }
+}
@@ -33,6 +33,7 @@
  */
 package fr.paris.lutece.plugins.workflow.modules.forms.web;
 
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Locale;
@@ -43,18 +44,25 @@ import javax.servlet.http.HttpServletRequest;
 import org.apache.commons.lang3.StringUtils;
 
 import fr.paris.lutece.plugins.forms.business.FormResponse;
+import fr.paris.lutece.plugins.forms.service.FormsPlugin;
+import fr.paris.lutece.plugins.genericattributes.service.GenericAttributesPlugin;
 import fr.paris.lutece.plugins.workflow.modules.forms.business.AbstractCompleteFormResponse;
+import fr.paris.lutece.plugins.workflow.modules.forms.service.cache.AbstractWorkflowFormsCacheService;
 import fr.paris.lutece.plugins.workflow.modules.forms.service.task.IFormsTaskService;
+import fr.paris.lutece.plugins.workflow.utils.WorkflowUtils;
 import fr.paris.lutece.portal.service.message.SiteMessage;
 import fr.paris.lutece.portal.service.message.SiteMessageException;
 import fr.paris.lutece.portal.service.plugin.Plugin;
+import fr.paris.lutece.portal.service.plugin.PluginService;
 import fr.paris.lutece.portal.service.security.UserNotSignedException;
 import fr.paris.lutece.portal.service.spring.SpringContextService;
+import fr.paris.lutece.portal.service.util.AppException;
 import fr.paris.lutece.portal.service.util.AppPathService;
 import fr.paris.lutece.portal.web.constants.Messages;
 import fr.paris.lutece.portal.web.xpages.XPage;
 import fr.paris.lutece.portal.web.xpages.XPageApplication;
 import fr.paris.lutece.util.signrequest.AbstractPrivateKeyAuthenticator;
+import fr.paris.lutece.util.sql.TransactionManager;
 
 /**
  * abstract class for Complete & Resubmit Form Response FO action
@@ -145,7 +153,7 @@ public abstract class AbstractFormResponseApp<R extends AbstractCompleteFormResp
             return;
         }
 
-        if ( ACTION_DO_MODIFY_RESPONSE.equals( strAction ) && doEditResponse( request, completeFormResponse, idTask, idHistory ) )
+        if ( ACTION_DO_MODIFY_RESPONSE.equals( strAction ) && doEditResponseInTransaction( request, completeFormResponse, idTask, idHistory ) )
         {
             // Back to home page
             String strUrlReturn = request.getParameter( PARAMETER_URL_RETURN );
@@ -154,6 +162,84 @@ public abstract class AbstractFormResponseApp<R extends AbstractCompleteFormResp
         }
     }
 
+    /**
+     * Edit the response in a single transaction, so that the edition of the data, the change of state and the completion of the response are committed
+     * together, on the same connection. The transaction is opened on the pool of the workflow plugin, which the forms and generic attributes plugins must
+     * share: transactions opened on distinct pools would be committed independently. Whatever the failure, the work not committed is rolled back. The
+     * automatic actions of the new state run their own tasks, so they are only run once the transaction is committed.
+     * 
+     * @param request
+     *            the HTTP request
+     * @param response
+     *            the response
+     * @param idTask
+     *            the id of the task
+     * @param idHistory
+     *            the id of the history
+     * @return true if the record has been updated, false otherwise
+     * @throws SiteMessageException
+     *             a site message if there is a problem
+     */
+    boolean doEditResponseInTransaction( HttpServletRequest request, R response, int idTask, int idHistory ) throws SiteMessageException
+    {
+        Plugin plugin = WorkflowUtils.getPlugin( );
+        checkSharedPool( plugin,
+                Arrays.asList( PluginService.getPlugin( FormsPlugin.PLUGIN_NAME ), PluginService.getPlugin( GenericAttributesPlugin.PLUGIN_NAME ) ) );
+
+        boolean bEdited;
+        boolean bCommitted = false;
+
+        // The cache evictions done during the transaction are run again once it is completed
+        AbstractWorkflowFormsCacheService.beginDeferredEvictions( );
+        TransactionManager.beginTransaction( plugin );
+        try
+        {
+            bEdited = doEditResponse( request, response, idTask, idHistory );
+
+            TransactionManager.commitTransaction( plugin );
+            bCommitted = true;
+        }
+        finally
+        {
+            if ( !bCommitted )
+            {
+                TransactionManager.rollBack( plugin );
+            }
+
+            AbstractWorkflowFormsCacheService.endDeferredEvictions( );
+        }
+
+        if ( bEdited )
+        {
+            doProcessAutomaticActions( request, response );
+        }
+
+        return bEdited;
+    }
+
+    /**
+     * Check that plugins share the database pool of the workflow plugin, so that their writes belong to the transaction opened on this pool
+     * 
+     * @param pluginWorkflow
+     *            the workflow plugin
+     * @param listPlugin
+     *            the plugins which write in the transaction
+     * @throws AppException
+     *             if a plugin uses another pool
+     */
+    static void checkSharedPool( Plugin pluginWorkflow, List<Plugin> listPlugin )
+    {
+        for ( Plugin plugin : listPlugin )
+        {
+            if ( !StringUtils.equals( pluginWorkflow.getDbPoolName( ), plugin.getDbPoolName( ) ) )
+            {
+                throw new AppException( "The plugin " + plugin.getName( ) + " uses the pool " + plugin.getDbPoolName( ) + " instead of the pool "
+                        + pluginWorkflow.getDbPoolName( ) + " of the plugin " + pluginWorkflow.getName( )
+                        + " : the edition of a response cannot be committed in a single transaction" );
+            }
+        }
+    }
+
     protected Map<String, Object> initModelFormPage( HttpServletRequest request, FormResponse formResponse, List<String> listStepDisplayTree )
     {
         Map<String, Object> model = new HashMap<>( );
@@ -185,6 +271,16 @@ public abstract class AbstractFormResponseApp<R extends AbstractCompleteFormResp
      */
     protected abstract boolean doEditResponse( HttpServletRequest request, R response, int idTask, int idHistory ) throws SiteMessageException;
 
+    /**
+     * Run the automatic actions of the state reached by the response, once its edition is committed
+     * 
+     * @param request
+     *            the HTTP request
+     * @param response
+     *            the response
+     */
+    protected abstract void doProcessAutomaticActions( HttpServletRequest request, R response );
+
     protected abstract AbstractPrivateKeyAuthenticator getRequestAuthenticator( );
 
     protected abstract boolean isRecordStateValid( R resubmitFormResponse, Locale locale );
@@ -48,6 +48,7 @@ import fr.paris.lutece.plugins.forms.web.entrytype.DisplayType;
 import fr.paris.lutece.plugins.workflow.modules.forms.business.CompleteFormResponse;
 import fr.paris.lutece.plugins.workflow.modules.forms.service.ICompleteFormResponseService;
 import fr.paris.lutece.plugins.workflow.modules.forms.service.signrequest.CompleteFormResponseRequestAuthenticatorService;
+import fr.paris.lutece.plugins.workflow.modules.forms.service.task.FormQuestionResponseIndex;
 import fr.paris.lutece.portal.service.i18n.I18nService;
 import fr.paris.lutece.portal.service.message.SiteMessage;
 import fr.paris.lutece.portal.service.message.SiteMessageException;
@@ -95,7 +96,8 @@ public class CompleteFormResponseApp extends AbstractFormResponseApp<CompleteFor
         List<Step> listStep = listQuestions.stream( ).map( Question::getStep ).map( Step::getId ).distinct( ).map( StepHome::findByPrimaryKey )
                 .collect( Collectors.toList( ) );
 
-        List<String> listStepDisplayTree = _formsTaskService.buildFormStepDisplayTreeList( request, listStep, listQuestions, formResponse,
+        List<String> listStepDisplayTree = _formsTaskService.buildFormStepDisplayTreeList( request, listStep,
+                FormQuestionResponseIndex.toQuestionIds( listQuestions ), formResponse, new FormQuestionResponseIndex( formResponse ),
                 DisplayType.COMPLETE_FRONTOFFICE );
 
         Map<String, Object> model = initModelFormPage( request, formResponse, listStepDisplayTree );
@@ -143,6 +145,15 @@ public class CompleteFormResponseApp extends AbstractFormResponseApp<CompleteFor
         return false;
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected void doProcessAutomaticActions( HttpServletRequest request, CompleteFormResponse response )
+    {
+        _completeFormResponseService.doProcessAutomaticActions( response, request.getLocale( ) );
+    }
+
     @Override
     protected CompleteFormResponse findAbstractCompleteFormResponse( int nIdHistory, int nIdTask )
     {
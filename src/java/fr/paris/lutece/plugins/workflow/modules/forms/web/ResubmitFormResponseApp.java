@@ -51,6 +51,7 @@ import fr.paris.lutece.plugins.forms.web.entrytype.DisplayType;
 import fr.paris.lutece.plugins.workflow.modules.forms.business.ResubmitFormResponse;
 import fr.paris.lutece.plugins.workflow.modules.forms.service.IResubmitFormResponseService;
 import fr.paris.lutece.plugins.workflow.modules.forms.service.signrequest.ResubmitFormResponseRequestAuthenticatorService;
+import fr.paris.lutece.plugins.workflow.modules.forms.service.task.FormQuestionResponseIndex;
 import fr.paris.lutece.portal.service.i18n.I18nService;
 import fr.paris.lutece.portal.service.message.SiteMessage;
 import fr.paris.lutece.portal.service.message.SiteMessageException;
@@ -152,7 +153,8 @@ public class ResubmitFormResponseApp extends AbstractFormResponseApp<ResubmitFor
         List<Step> listStep = listQuestions.stream( ).map( Question::getStep ).map( Step::getId ).distinct( ).map( StepHome::findByPrimaryKey )
                 .collect( Collectors.toList( ) );
 
-        List<String> listStepDisplayTree = _formsTaskService.buildFormStepDisplayTreeList( request, listStep, listQuestions, formResponse,
+        List<String> listStepDisplayTree = _formsTaskService.buildFormStepDisplayTreeList( request, listStep,
+                FormQuestionResponseIndex.toQuestionIds( listQuestions ), formResponse, new FormQuestionResponseIndex( formResponse ),
                 DisplayType.RESUBMIT_FRONTOFFICE );
 
         Map<String, Object> model = initModelFormPage( request, formResponse, listStepDisplayTree );
@@ -200,6 +202,15 @@ public class ResubmitFormResponseApp extends AbstractFormResponseApp<ResubmitFor
         return false;
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected void doProcessAutomaticActions( HttpServletRequest request, ResubmitFormResponse response )
+    {
+        _resubmitFormResponseService.doProcessAutomaticActions( response, request.getLocale( ) );
+    }
+
     @Override
     protected ResubmitFormResponse findAbstractCompleteFormResponse( int nIdHistory, int nIdTask )
     {
@@ -0,0 +1,167 @@
+/*
+ * Copyright (c) 2002-2021, City of Paris
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ *  1. Redistributions of source code must retain the above copyright notice
+ *     and the following disclaimer.
+ *
+ *  2. Redistributions in binary form must reproduce the above copyright notice
+ *     and the following disclaimer in the documentation and/or other materials
+ *     provided with the distribution.
+ *
+ *  3. Neither the name of 'Mairie de Paris' nor 'Lutece' nor the names of its
+ *     contributors may be used to endorse or promote products derived from
+ *     this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ *
+ * License 1.0
+ */
+package fr.paris.lutece.plugins.workflow.modules.forms.web;
+
+import javax.servlet.http.HttpServletRequest;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.math.NumberUtils;
+
+import fr.paris.lutece.plugins.forms.business.Form;
+import fr.paris.lutece.plugins.forms.business.FormResponse;
+import fr.paris.lutece.plugins.forms.service.FormsResourceIdService;
+import fr.paris.lutece.plugins.workflow.modules.forms.business.AbstractFormResponseTaskHistory;
+import fr.paris.lutece.plugins.workflow.modules.forms.business.EditFormResponseTaskHistory;
+import fr.paris.lutece.plugins.workflow.modules.forms.business.ResubmitFormResponseTaskHistory;
+import fr.paris.lutece.plugins.workflow.modules.forms.service.task.ICompleteFormResponseTaskHistoryService;
+import fr.paris.lutece.plugins.workflow.modules.forms.service.task.IEditFormResponseTaskHistoryService;
+import fr.paris.lutece.plugins.workflow.modules.forms.service.task.IFormsTaskService;
+import fr.paris.lutece.plugins.workflow.modules.forms.service.task.IResubmitFormResponseTaskHistoryService;
+import fr.paris.lutece.plugins.workflowcore.service.task.ITask;
+import fr.paris.lutece.plugins.workflowcore.service.task.ITaskService;
+import fr.paris.lutece.portal.business.user.AdminUser;
+import fr.paris.lutece.portal.service.admin.AccessDeniedException;
+import fr.paris.lutece.portal.service.admin.AdminUserService;
+import fr.paris.lutece.portal.service.rbac.RBACService;
+import fr.paris.lutece.portal.service.spring.SpringContextService;
+
+/**
+ * Gives the full value of a task history, which is not displayed in the task information panels when it is longer than
+ * <code>workflow-forms.history.value.display.max_length</code>
+ */
+public class TaskHistoryValueJspBean
+{
+    // PARAMETERS
+    private static final String PARAMETER_ID_HISTORY = "id_history";
+    private static final String PARAMETER_ID_TASK = "id_task";
+    private static final String PARAMETER_ID_QUESTION = "id_question";
+    private static final String PARAMETER_ITERATION_NUMBER = "iteration_number";
+    private static final String PARAMETER_PREVIOUS = "previous";
+
+    // TASK TYPES
+    private static final String TASK_TYPE_EDIT = "editFormResponseTypeTask";
+    private static final String TASK_TYPE_COMPLETE = "completeFormResponseTypeTask";
+    private static final String TASK_TYPE_RESUBMIT = "resubmitFormResponseTypeTask";
+
+    private static final String MESSAGE_ACCESS_DENIED = "Access denied to the task history value";
+
+    private final IFormsTaskService _formsTaskService = SpringContextService.getBean( "workflow-forms.formsTaskService" );
+    private final ITaskService _taskService = SpringContextService.getBean( "workflow.taskService" );
+    private final IEditFormResponseTaskHistoryService _editFormResponseTaskHistoryService = SpringContextService
+            .getBean( "workflow-forms.editFormResponseTaskHistoryService" );
+    private final ICompleteFormResponseTaskHistoryService _completeFormResponseTaskHistoryService = SpringContextService
+            .getBean( "workflow-forms.completeFormResponseTaskHistoryService" );
+    private final IResubmitFormResponseTaskHistoryService _resubmitFormResponseTaskHistoryService = SpringContextService
+            .getBean( "workflow-forms.resubmitFormResponseTaskHistoryService" );
+
+    /**
+     * Gives the previous or the new value of a task history. The user must be allowed to view the responses of the form.
+     * 
+     * @param request
+     *            the request
+     * @return the value, or an empty string if the task history does not exist
+     * @throws AccessDeniedException
+     *             if the user is not allowed to view the responses of the form
+     */
+    public String getTaskHistoryValue( HttpServletRequest request ) throws AccessDeniedException
+    {
+        int nIdHistory = NumberUtils.toInt( request.getParameter( PARAMETER_ID_HISTORY ), -1 );
+        int nIdTask = NumberUtils.toInt( request.getParameter( PARAMETER_ID_TASK ), -1 );
+        int nIdQuestion = NumberUtils.toInt( request.getParameter( PARAMETER_ID_QUESTION ), -1 );
+        int nIterationNumber = NumberUtils.toInt( request.getParameter( PARAMETER_ITERATION_NUMBER ), 0 );
+        boolean bPrevious = Boolean.parseBoolean( request.getParameter( PARAMETER_PREVIOUS ) );
+
+        AdminUser user = AdminUserService.getAdminUser( request );
+        FormResponse formResponse = _formsTaskService.getFormResponseFromIdHistory( nIdHistory );
+
+        if ( user == null || formResponse == null || !RBACService.isAuthorized( Form.RESOURCE_TYPE, String.valueOf( formResponse.getFormId( ) ),
+                FormsResourceIdService.PERMISSION_VIEW_FORM_RESPONSE, user ) )
+        {
+            throw new AccessDeniedException( MESSAGE_ACCESS_DENIED );
+        }
+
+        ITask task = _taskService.findByPrimaryKey( nIdTask, request.getLocale( ) );
+        AbstractFormResponseTaskHistory taskHistory = task != null ? findTaskHistory( task.getTaskType( ).getKey( ), nIdHistory, nIdTask, nIdQuestion,
+                nIterationNumber ) : null;
+
+        String strValue = null;
+
+        if ( taskHistory != null && !bPrevious )
+        {
+            strValue = taskHistory.getNewValue( );
+        }
+        else
+            if ( taskHistory instanceof EditFormResponseTaskHistory )
+            {
+                strValue = ( (EditFormResponseTaskHistory) taskHistory ).getPreviousValue( );
+            }
+            else
+                if ( taskHistory instanceof ResubmitFormResponseTaskHistory )
+                {
+                    strValue = ( (ResubmitFormResponseTaskHistory) taskHistory ).getPreviousValue( );
+                }
+
+        return StringUtils.defaultString( strValue );
+    }
+
+    /**
+     * Find the task history of a question, with its values
+     * 
+     * @param strTaskTypeKey
+     *            the key of the task type
+     * @param nIdHistory
+     *            the id of the history
+     * @param nIdTask
+     *            the id of the task
+     * @param nIdQuestion
+     *            the id of the question
+     * @param nIterationNumber
+     *            the iteration number of the question
+     * @return the task history, or null if it does not exist
+     */
+    private AbstractFormResponseTaskHistory findTaskHistory( String strTaskTypeKey, int nIdHistory, int nIdTask, int nIdQuestion, int nIterationNumber )
+    {
+        switch( strTaskTypeKey )
+        {
+            case TASK_TYPE_EDIT:
+                return _editFormResponseTaskHistoryService.loadValue( nIdHistory, nIdTask, nIdQuestion, nIterationNumber );
+            case TASK_TYPE_COMPLETE:
+                return _completeFormResponseTaskHistoryService.loadValue( nIdHistory, nIdTask, nIdQuestion, nIterationNumber );
+            case TASK_TYPE_RESUBMIT:
+                return _resubmitFormResponseTaskHistoryService.loadValue( nIdHistory, nIdTask, nIdQuestion, nIterationNumber );
+            default:
+                return null;
+        }
+    }
+}
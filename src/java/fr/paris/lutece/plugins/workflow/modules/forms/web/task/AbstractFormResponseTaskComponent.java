@@ -34,10 +34,23 @@
 package fr.paris.lutece.plugins.workflow.modules.forms.web.task;
 
 import fr.paris.lutece.plugins.workflow.web.task.AbstractTaskComponent;
+import fr.paris.lutece.portal.service.util.AppPropertiesService;
 
 public abstract class AbstractFormResponseTaskComponent extends AbstractTaskComponent
 {
 
     protected static final String MARK_STEP_LIST = "list_step";
     protected static final String TEMPLATE_TASK_FORM = "admin/plugins/workflow/modules/forms/task_edit_form_response_form.html";
+
+    private static final String PROPERTY_HISTORY_VALUE_DISPLAY_MAX_LENGTH = "workflow-forms.history.value.display.max_length";
+
+    /**
+     * Gives the maximum length of the history values displayed in the task information panels
+     * 
+     * @return the maximum length, or a negative or zero value if all the values are displayed
+     */
+    protected static int getHistoryValueDisplayMaxLength( )
+    {
+        return AppPropertiesService.getPropertyInt( PROPERTY_HISTORY_VALUE_DISPLAY_MAX_LENGTH, 0 );
+    }
 }
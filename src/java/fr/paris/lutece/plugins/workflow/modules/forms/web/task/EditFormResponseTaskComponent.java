@@ -61,6 +61,9 @@ import fr.paris.lutece.plugins.genericattributes.business.GenericAttributeError;
 import fr.paris.lutece.plugins.workflow.modules.forms.business.EditFormResponseConfig;
 import fr.paris.lutece.plugins.workflow.modules.forms.business.EditFormResponseConfigValue;
 import fr.paris.lutece.plugins.workflow.modules.forms.business.EditFormResponseTaskHistory;
+import fr.paris.lutece.plugins.workflow.modules.forms.service.cache.TaskInformationCacheService;
+import fr.paris.lutece.plugins.workflow.modules.forms.service.cache.TaskInformationFragment;
+import fr.paris.lutece.plugins.workflow.modules.forms.service.task.FormQuestionResponseIndex;
 import fr.paris.lutece.plugins.workflow.modules.forms.service.task.IEditFormResponseTaskHistoryService;
 import fr.paris.lutece.plugins.workflow.modules.forms.service.task.IEditFormResponseTaskService;
 import fr.paris.lutece.plugins.workflow.modules.forms.service.task.IFormsTaskService;
@@ -202,7 +205,8 @@ public class EditFormResponseTaskComponent extends AbstractFormResponseTaskCompo
     public String getDisplayTaskForm( int nIdResource, String strResourceType, HttpServletRequest request, Locale locale, ITask task )
     {
         FormResponse formResponse = _formsTaskService.findFormResponseFrom( nIdResource, strResourceType );
-        List<Question> listQuestion = _editFormResponseTaskService.findQuestionsToEdit( task, formResponse );
+        FormQuestionResponseIndex index = new FormQuestionResponseIndex( formResponse );
+        List<Question> listQuestion = _editFormResponseTaskService.findQuestionsToEdit( task, formResponse, index );
 
         Set<Integer> listStepId = listQuestion.stream( ).map( Question::getIdStep ).distinct( ).collect( Collectors.toSet( ) );
         List<Step> listStep = new ArrayList<>( );
@@ -232,8 +236,8 @@ public class EditFormResponseTaskComponent extends AbstractFormResponseTaskCompo
             listStep.add( StepHome.findByPrimaryKey( nIdStep ) );
         }
 
-        List<String> listStepDisplayTree = _formsTaskService.buildFormStepDisplayTreeList( request, listStep, listQuestion, formResponse,
-                DisplayType.EDITION_BACKOFFICE );
+        List<String> listStepDisplayTree = _formsTaskService.buildFormStepDisplayTreeList( request, listStep,
+                FormQuestionResponseIndex.toQuestionIds( listQuestion ), formResponse, index, DisplayType.EDITION_BACKOFFICE );
 
         Map<String, Object> model = new HashMap<>( );
         model.put( MARK_STEP_LIST, listStepDisplayTree );
@@ -249,13 +253,21 @@ public class EditFormResponseTaskComponent extends AbstractFormResponseTaskCompo
     @Override
     public String getDisplayTaskInformation( int nIdHistory, HttpServletRequest request, Locale locale, ITask task )
     {
-        Map<String, Object> model = new HashMap<>( );
-        List<EditFormResponseTaskHistory> listEditFormResponseTaskHistory = _editFormResponseTaskHistoryService.load( nIdHistory, task.getId( ) );
+        int nMaxValueLength = getHistoryValueDisplayMaxLength( );
 
-        model.put( FormsConstants.MARK_QUESTION_LIST_RESPONSES, listEditFormResponseTaskHistory );
+        return TaskInformationCacheService.getInstance( ).getTaskInformation( nIdHistory, task.getId( ), nMaxValueLength, locale, ( ) -> {
+            Map<String, Object> model = new HashMap<>( );
+            List<EditFormResponseTaskHistory> listEditFormResponseTaskHistory = nMaxValueLength > 0
+                    ? _editFormResponseTaskHistoryService.loadSummary( nIdHistory, task.getId( ), nMaxValueLength )
+                    : _editFormResponseTaskHistoryService.load( nIdHistory, task.getId( ) );
 
-        HtmlTemplate template = AppTemplateService.getTemplate( TEMPLATE_TASK_FORM_EDITRESPONSE_HISTORY, locale, model );
-        return template.getHtml( );
+            model.put( FormsConstants.MARK_QUESTION_LIST_RESPONSES, listEditFormResponseTaskHistory );
+
+            HtmlTemplate template = AppTemplateService.getTemplate( TEMPLATE_TASK_FORM_EDITRESPONSE_HISTORY, locale, model );
+
+            // The history is written once by the task and never modified afterwards
+            return new TaskInformationFragment( template.getHtml( ), true );
+        } );
     }
 
     @Override
@@ -52,6 +52,9 @@ import fr.paris.lutece.plugins.workflow.modules.forms.business.ResubmitFormRespo
 import fr.paris.lutece.plugins.workflow.modules.forms.business.ResubmitFormResponseTaskConfig;
 import fr.paris.lutece.plugins.workflow.modules.forms.business.ResubmitFormResponseTaskHistory;
 import fr.paris.lutece.plugins.workflow.modules.forms.service.IResubmitFormResponseService;
+import fr.paris.lutece.plugins.workflow.modules.forms.service.cache.TaskInformationCacheService;
+import fr.paris.lutece.plugins.workflow.modules.forms.service.cache.TaskInformationFragment;
+import fr.paris.lutece.plugins.workflow.modules.forms.service.task.FormQuestionResponseIndex;
 import fr.paris.lutece.plugins.workflow.modules.forms.service.task.IFormsTaskService;
 import fr.paris.lutece.plugins.workflow.modules.forms.service.task.IResubmitFormResponseTaskHistoryService;
 import fr.paris.lutece.plugins.workflowcore.service.config.ITaskConfigService;
@@ -108,7 +111,8 @@ public class ResubmitFormResponseTaskComponent extends AbstractFormResponseTaskC
         List<Step> listStep = listQuestions.stream( ).map( Question::getStep ).map( Step::getId ).distinct( ).map( StepHome::findByPrimaryKey )
                 .collect( Collectors.toList( ) );
 
-        List<String> listStepDisplayTree = _formsTaskService.buildFormStepDisplayTreeList( request, listStep, listQuestions, formResponse,
+        List<String> listStepDisplayTree = _formsTaskService.buildFormStepDisplayTreeList( request, listStep,
+                FormQuestionResponseIndex.toQuestionIds( listQuestions ), formResponse, new FormQuestionResponseIndex( formResponse ),
                 DisplayType.RESUBMIT_BACKOFFICE );
 
         Map<String, Object> model = new HashMap<>( );
@@ -121,6 +125,27 @@ public class ResubmitFormResponseTaskComponent extends AbstractFormResponseTaskC
 
     @Override
     public String getDisplayTaskInformation( int nIdHistory, HttpServletRequest request, Locale locale, ITask task )
+    {
+        int nMaxValueLength = getHistoryValueDisplayMaxLength( );
+
+        return TaskInformationCacheService.getInstance( ).getTaskInformation( nIdHistory, task.getId( ), nMaxValueLength, locale,
+                ( ) -> renderTaskInformation( nIdHistory, nMaxValueLength, locale, task ) );
+    }
+
+    /**
+     * Renders the task information panel. The panel is final once the response is complete.
+     * 
+     * @param nIdHistory
+     *            the id of the history
+     * @param nMaxValueLength
+     *            the maximum length of the history values displayed, 0 if all the values are displayed
+     * @param locale
+     *            the locale
+     * @param task
+     *            the task
+     * @return the rendered panel
+     */
+    private TaskInformationFragment renderTaskInformation( int nIdHistory, int nMaxValueLength, Locale locale, ITask task )
     {
         ResubmitFormResponse resubmitFormResponse = _resubmitResponseService.find( nIdHistory, task.getId( ) );
         ResubmitFormResponseTaskConfig config = _taskResubmitResponseConfigService.findByPrimaryKey( task.getId( ) );
@@ -134,14 +159,15 @@ public class ResubmitFormResponseTaskComponent extends AbstractFormResponseTaskC
             model.put( MARK_LIST_ENTRIES, _resubmitResponseService.getInformationListEntries( nIdHistory ) );
             if ( resubmitFormResponse.isComplete( ) )
             {
-                List<ResubmitFormResponseTaskHistory> historyList = _resubmitFormResponseTaskHistoryService.load( nIdHistory, task.getId( ) );
+                List<ResubmitFormResponseTaskHistory> historyList = nMaxValueLength > 0 ? _resubmitFormResponseTaskHistoryService.loadSummary( nIdHistory, task.getId( ), nMaxValueLength )
+                        : _resubmitFormResponseTaskHistoryService.load( nIdHistory, task.getId( ) );
                 model.put( MARK_LIST_HISTORIES, historyList );
             }
         }
 
         HtmlTemplate template = AppTemplateService.getTemplate( TEMPLATE_TASK_RESUBMIT_RESPONSE_INFORMATION, locale, model );
 
-        return template.getHtml( );
+        return new TaskInformationFragment( template.getHtml( ), resubmitFormResponse != null && resubmitFormResponse.isComplete( ) );
     }
 
     @Override
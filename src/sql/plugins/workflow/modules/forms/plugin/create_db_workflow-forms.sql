@@ -10,8 +10,11 @@ CREATE TABLE workflow_task_forms_editresponse_history
 	iteration_number int default '0',
 	previous_value long VARCHAR DEFAULT NULL,
 	new_value long VARCHAR DEFAULT NULL,
+	previous_value_length INT DEFAULT 0 NOT NULL,
+	new_value_length INT DEFAULT 0 NOT NULL,
 	PRIMARY KEY (id_history, id_task, id_question, iteration_number)
 );
+CREATE INDEX index_task_forms_editresponse_history ON workflow_task_forms_editresponse_history ( id_task );
 
 DROP TABLE IF EXISTS workflow_task_resubmit_response;
 CREATE TABLE workflow_task_resubmit_response (
@@ -21,6 +24,7 @@ CREATE TABLE workflow_task_resubmit_response (
   is_complete SMALLINT DEFAULT 0 NOT NULL,
   PRIMARY KEY (id_history, id_task)
 );
+CREATE INDEX index_task_resubmit_response ON workflow_task_resubmit_response ( id_task, is_complete );
 
 DROP TABLE IF EXISTS workflow_task_resubmit_response_value;
 CREATE TABLE workflow_task_resubmit_response_value (
@@ -45,6 +49,7 @@ CREATE TABLE workflow_task_complete_response (
   is_complete SMALLINT DEFAULT 0 NOT NULL,
   PRIMARY KEY (id_history, id_task)
 );
+CREATE INDEX index_task_complete_response ON workflow_task_complete_response ( id_task, is_complete );
 
 DROP TABLE IF EXISTS workflow_task_complete_response_value;
 CREATE TABLE workflow_task_complete_response_value (
@@ -102,8 +107,10 @@ CREATE TABLE workflow_task_complete_response_history
 	id_question INT DEFAULT 0 NOT NULL,
 	iteration_number int default '0',
 	new_value long VARCHAR DEFAULT NULL,
+	new_value_length INT DEFAULT 0 NOT NULL,
 	PRIMARY KEY (id_history, id_task, id_question, iteration_number)
 );
+CREATE INDEX index_task_complete_response_history ON workflow_task_complete_response_history ( id_task );
 
 DROP TABLE IF EXISTS workflow_task_resubmit_response_history;
 CREATE TABLE workflow_task_resubmit_response_history
@@ -114,5 +121,8 @@ CREATE TABLE workflow_task_resubmit_response_history
 	iteration_number int default '0',
 	previous_value long VARCHAR DEFAULT NULL,
 	new_value long VARCHAR DEFAULT NULL,
+	previous_value_length INT DEFAULT 0 NOT NULL,
+	new_value_length INT DEFAULT 0 NOT NULL,
 	PRIMARY KEY (id_history, id_task, id_question, iteration_number)
 );
+CREATE INDEX index_task_resubmit_response_history ON workflow_task_resubmit_response_history ( id_task );
@@ -0,0 +1,24 @@
+CREATE INDEX index_task_complete_response ON workflow_task_complete_response ( id_task, is_complete );
+CREATE INDEX index_task_resubmit_response ON workflow_task_resubmit_response ( id_task, is_complete );
+
+CREATE INDEX index_task_forms_editresponse_history ON workflow_task_forms_editresponse_history ( id_task );
+CREATE INDEX index_task_complete_response_history ON workflow_task_complete_response_history ( id_task );
+CREATE INDEX index_task_resubmit_response_history ON workflow_task_resubmit_response_history ( id_task );
+
+ALTER TABLE workflow_task_forms_editresponse_history ADD COLUMN previous_value_length INT DEFAULT 0 NOT NULL;
+ALTER TABLE workflow_task_forms_editresponse_history ADD COLUMN new_value_length INT DEFAULT 0 NOT NULL;
+ALTER TABLE workflow_task_complete_response_history ADD COLUMN new_value_length INT DEFAULT 0 NOT NULL;
+ALTER TABLE workflow_task_resubmit_response_history ADD COLUMN previous_value_length INT DEFAULT 0 NOT NULL;
+ALTER TABLE workflow_task_resubmit_response_history ADD COLUMN new_value_length INT DEFAULT 0 NOT NULL;
+
+UPDATE workflow_task_forms_editresponse_history SET previous_value_length = CHAR_LENGTH( previous_value ) WHERE previous_value IS NOT NULL;
+UPDATE workflow_task_forms_editresponse_history SET new_value_length = CHAR_LENGTH( new_value ) WHERE new_value IS NOT NULL;
+UPDATE workflow_task_complete_response_history SET new_value_length = CHAR_LENGTH( new_value ) WHERE new_value IS NOT NULL;
+UPDATE workflow_task_resubmit_response_history SET previous_value_length = CHAR_LENGTH( previous_value ) WHERE previous_value IS NOT NULL;
+UPDATE workflow_task_resubmit_response_history SET new_value_length = CHAR_LENGTH( new_value ) WHERE new_value IS NOT NULL;
+
+UPDATE workflow_task_forms_editresponse_history SET previous_value = CONCAT( '{raw}', previous_value ) WHERE previous_value LIKE '{gz}%' OR previous_value LIKE '{raw}%';
+UPDATE workflow_task_forms_editresponse_history SET new_value = CONCAT( '{raw}', new_value ) WHERE new_value LIKE '{gz}%' OR new_value LIKE '{raw}%';
+UPDATE workflow_task_complete_response_history SET new_value = CONCAT( '{raw}', new_value ) WHERE new_value LIKE '{gz}%' OR new_value LIKE '{raw}%';
+UPDATE workflow_task_resubmit_response_history SET previous_value = CONCAT( '{raw}', previous_value ) WHERE previous_value LIKE '{gz}%' OR previous_value LIKE '{raw}%';
+UPDATE workflow_task_resubmit_response_history SET new_value = CONCAT( '{raw}', new_value ) WHERE new_value LIKE '{gz}%' OR new_value LIKE '{raw}%';
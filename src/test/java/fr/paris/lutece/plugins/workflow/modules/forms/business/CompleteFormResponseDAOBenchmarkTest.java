@@ -0,0 +1,192 @@
+/*
+ * Copyright (c) 2002-2021, City of Paris
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ *  1. Redistributions of source code must retain the above copyright notice
+ *     and the following disclaimer.
+ *
+ *  2. Redistributions in binary form must reproduce the above copyright notice
+ *     and the following disclaimer in the documentation and/or other materials
+ *     provided with the distribution.
+ *
+ *  3. Neither the name of 'Mairie de Paris' nor 'Lutece' nor the names of its
+ *     contributors may be used to endorse or promote products derived from
+ *     this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ *
+ * License 1.0
+ */
+package fr.paris.lutece.plugins.workflow.modules.forms.business;
+
+import fr.paris.lutece.plugins.workflow.utils.WorkflowUtils;
+import fr.paris.lutece.portal.service.util.AppLogService;
+import fr.paris.lutece.test.LuteceTestCase;
+import fr.paris.lutece.util.sql.DAOUtil;
+
+/**
+ * Benchmark of the task scoped queries of CompleteFormResponseDAO, with and without the secondary index on id_task. The queries run on two identical
+ * copies of the table, created for the benchmark with a portable DDL, only one of them having the index. The benchmark is only run when the system
+ * property workflow-forms.benchmark.rows is set, for instance -Dworkflow-forms.benchmark.rows=1000000, and logs the timings.
+ */
+public class CompleteFormResponseDAOBenchmarkTest extends LuteceTestCase
+{
+    private static final String PROPERTY_BENCHMARK_ROWS = "workflow-forms.benchmark.rows";
+    private static final int NB_TASKS = 100;
+    private static final int BATCH_SIZE = 10000;
+    private static final int NB_RUNS = 5;
+
+    private static final String TABLE_INDEXED = "workflow_bench_complete_response_idx";
+    private static final String TABLE_SCAN = "workflow_bench_complete_response_scan";
+
+    private static final String SQL_QUERY_CREATE_TABLE = " CREATE TABLE %s ( id_history INT DEFAULT 0 NOT NULL, id_task INT DEFAULT 0 NOT NULL, "
+            + "message VARCHAR(255), is_complete SMALLINT DEFAULT 0 NOT NULL, PRIMARY KEY ( id_history, id_task ) ) ";
+    private static final String SQL_QUERY_CREATE_INDEX = " CREATE INDEX index_bench_complete_response ON " + TABLE_INDEXED + " ( id_task, is_complete ) ";
+    private static final String SQL_QUERY_DROP_TABLE = " DROP TABLE %s ";
+    private static final String SQL_QUERY_INSERT = " INSERT INTO %s ( id_history, id_task, message, is_complete ) VALUES ( ?, ?, ?, ? ) ";
+    // The task scoped queries of CompleteFormResponseDAO
+    private static final String SQL_QUERY_SELECT_BY_ID_TASK = " SELECT id_history, id_task, message, is_complete FROM %s WHERE id_task = ? ";
+    private static final String SQL_QUERY_SELECT_ID_HISTORY_BY_ID_TASK = " SELECT id_history FROM %s WHERE id_task = ? AND id_history > ? ORDER BY id_history LIMIT ? ";
+
+    public void testIdTaskScan( )
+    {
+        String strRows = System.getProperty( PROPERTY_BENCHMARK_ROWS );
+        if ( strRows == null )
+        {
+            return;
+        }
+
+        int nRows = Integer.parseInt( strRows );
+
+        execute( String.format( SQL_QUERY_CREATE_TABLE, TABLE_INDEXED ) );
+        execute( String.format( SQL_QUERY_CREATE_TABLE, TABLE_SCAN ) );
+        try
+        {
+            execute( SQL_QUERY_CREATE_INDEX );
+            populate( TABLE_INDEXED, nRows );
+            populate( TABLE_SCAN, nRows );
+
+            long lIndexed = benchmark( TABLE_INDEXED, nRows );
+            long lScan = benchmark( TABLE_SCAN, nRows );
+
+            AppLogService.info( "CompleteFormResponseDAO benchmark on " + nRows + " rows : scan " + lScan + " ms, index " + lIndexed + " ms" );
+        }
+        finally
+        {
+            execute( String.format( SQL_QUERY_DROP_TABLE, TABLE_INDEXED ) );
+            execute( String.format( SQL_QUERY_DROP_TABLE, TABLE_SCAN ) );
+        }
+    }
+
+    /**
+     * Run the task scoped queries on a table and return the average time of a run
+     * 
+     * @param strTable
+     *            the table
+     * @param nRows
+     *            the number of rows of the table
+     * @return the time in ms
+     */
+    private long benchmark( String strTable, int nRows )
+    {
+        long lStart = System.currentTimeMillis( );
+
+        for ( int nIdTask = 0; nIdTask < NB_RUNS; nIdTask++ )
+        {
+            int nExpected = Math.max( 0, ( nRows - nIdTask + NB_TASKS - 1 ) / NB_TASKS );
+            assertEquals( nExpected, count( String.format( SQL_QUERY_SELECT_BY_ID_TASK, strTable ), nIdTask ) );
+            assertEquals( Math.min( nExpected, BATCH_SIZE ),
+                    count( String.format( SQL_QUERY_SELECT_ID_HISTORY_BY_ID_TASK, strTable ), nIdTask, -1, BATCH_SIZE ) );
+        }
+
+        return ( System.currentTimeMillis( ) - lStart ) / NB_RUNS;
+    }
+
+    /**
+     * Run a query and count the rows it returns
+     * 
+     * @param strQuery
+     *            the query
+     * @param parameters
+     *            the integer parameters of the query
+     * @return the number of rows
+     */
+    private int count( String strQuery, int... parameters )
+    {
+        int nCount = 0;
+
+        try ( DAOUtil daoUtil = new DAOUtil( strQuery, WorkflowUtils.getPlugin( ) ) )
+        {
+            int nIndex = 1;
+            for ( int nParameter : parameters )
+            {
+                daoUtil.setInt( nIndex++, nParameter );
+            }
+            daoUtil.executeQuery( );
+
+            while ( daoUtil.next( ) )
+            {
+                nCount++;
+            }
+        }
+
+        return nCount;
+    }
+
+    /**
+     * Insert the rows of a table, spread over the tasks
+     * 
+     * @param strTable
+     *            the table
+     * @param nRows
+     *            the number of rows
+     */
+    private void populate( String strTable, int nRows )
+    {
+        for ( int nFirst = 0; nFirst < nRows; nFirst += BATCH_SIZE )
+        {
+            try ( DAOUtil daoUtil = new DAOUtil( String.format( SQL_QUERY_INSERT, strTable ), WorkflowUtils.getPlugin( ) ) )
+            {
+                for ( int nRow = nFirst; nRow < Math.min( nRows, nFirst + BATCH_SIZE ); nRow++ )
+                {
+                    int nIndex = 1;
+                    daoUtil.setInt( nIndex++, nRow / NB_TASKS );
+                    daoUtil.setInt( nIndex++, nRow % NB_TASKS );
+                    daoUtil.setString( nIndex++, "message" );
+                    daoUtil.setInt( nIndex++, nRow % 2 );
+                    daoUtil.addBatch( );
+                }
+
+                daoUtil.executeBatch( );
+            }
+        }
+    }
+
+    /**
+     * Execute a DDL statement
+     * 
+     * @param strQuery
+     *            the statement
+     */
+    private void execute( String strQuery )
+    {
+        try ( DAOUtil daoUtil = new DAOUtil( strQuery, WorkflowUtils.getPlugin( ) ) )
+        {
+            daoUtil.executeUpdate( );
+        }
+    }
+}
@@ -0,0 +1,169 @@
+/*
+ * Copyright (c) 2002-2021, City of Paris
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ *  1. Redistributions of source code must retain the above copyright notice
+ *     and the following disclaimer.
+ *
+ *  2. Redistributions in binary form must reproduce the above copyright notice
+ *     and the following disclaimer in the documentation and/or other materials
+ *     provided with the distribution.
+ *
+ *  3. Neither the name of 'Mairie de Paris' nor 'Lutece' nor the names of its
+ *     contributors may be used to endorse or promote products derived from
+ *     this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ *
+ * License 1.0
+ */
+package fr.paris.lutece.plugins.workflow.modules.forms.business;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import fr.paris.lutece.plugins.forms.business.Question;
+import fr.paris.lutece.test.LuteceTestCase;
+
+public class EditFormResponseTaskHistoryDAOTest extends LuteceTestCase
+{
+    private static final int ID_TASK = 999;
+    private static final int ID_QUESTION_1 = 1;
+    private static final int ID_QUESTION_2 = 2;
+
+    private EditFormResponseTaskHistoryDAO _dao = new EditFormResponseTaskHistoryDAO( );
+
+    public void testSelectByIdTask( )
+    {
+        List<EditFormResponseTaskHistory> listHistory = new ArrayList<>( );
+        for ( int nIdHistory = 1; nIdHistory <= 3; nIdHistory++ )
+        {
+            listHistory.add( newHistory( nIdHistory, ID_QUESTION_2 ) );
+            listHistory.add( newHistory( nIdHistory, ID_QUESTION_1 ) );
+        }
+        _dao.insertAll( listHistory );
+
+        try
+        {
+            List<EditFormResponseTaskHistory> listResult = new ArrayList<>( );
+            _dao.selectByIdTask( ID_TASK, 0, 0, listResult::add );
+            assertEquals( 6, listResult.size( ) );
+            assertEquals( 1, listResult.get( 0 ).getIdHistory( ) );
+            assertEquals( ID_QUESTION_1, listResult.get( 0 ).getQuestion( ).getId( ) );
+            assertEquals( 3, listResult.get( 5 ).getIdHistory( ) );
+            assertEquals( ID_QUESTION_2, listResult.get( 5 ).getQuestion( ).getId( ) );
+
+            listResult.clear( );
+            _dao.selectByIdTask( ID_TASK, ID_QUESTION_2, 1, listResult::add );
+            assertEquals( 2, listResult.size( ) );
+            assertEquals( 2, listResult.get( 0 ).getIdHistory( ) );
+            assertEquals( "new 2", listResult.get( 0 ).getNewValue( ) );
+            assertEquals( 3, listResult.get( 1 ).getIdHistory( ) );
+        }
+        finally
+        {
+            for ( int nIdHistory = 1; nIdHistory <= 3; nIdHistory++ )
+            {
+                _dao.deleteByIdHistoryAndTask( nIdHistory, ID_TASK );
+            }
+        }
+    }
+
+    public void testInsertAllExisting( )
+    {
+        _dao.insert( newHistory( 5, ID_QUESTION_1 ) );
+
+        try
+        {
+            // One record already exists and the other is new: both are written without error
+            EditFormResponseTaskHistory existing = newHistory( 5, ID_QUESTION_1 );
+            existing.setNewValue( "updated" );
+            List<EditFormResponseTaskHistory> listHistory = new ArrayList<>( );
+            listHistory.add( existing );
+            listHistory.add( newHistory( 5, ID_QUESTION_2 ) );
+            _dao.insertAll( listHistory );
+
+            assertEquals( "updated", _dao.selectByPrimaryKey( 5, ID_TASK, ID_QUESTION_1, 0 ).getNewValue( ) );
+            assertEquals( "new 5", _dao.selectByPrimaryKey( 5, ID_TASK, ID_QUESTION_2, 0 ).getNewValue( ) );
+        }
+        finally
+        {
+            _dao.deleteByIdHistoryAndTask( 5, ID_TASK );
+        }
+    }
+
+    public void testSelectSummary( )
+    {
+        EditFormResponseTaskHistory history = newHistory( 4, ID_QUESTION_1 );
+        history.setNewValue( "a much longer new value" );
+        _dao.insert( history );
+
+        try
+        {
+            List<EditFormResponseTaskHistory> listResult = _dao.selectSummaryByIdHistoryAndIdTask( 4, ID_TASK, 12 );
+            assertEquals( 1, listResult.size( ) );
+            assertEquals( "previous 4", listResult.get( 0 ).getPreviousValue( ) );
+            assertEquals( 10, listResult.get( 0 ).getPreviousValueLength( ) );
+            assertNull( listResult.get( 0 ).getNewValue( ) );
+            assertEquals( 23, listResult.get( 0 ).getNewValueLength( ) );
+
+            EditFormResponseTaskHistory loaded = _dao.selectByPrimaryKey( 4, ID_TASK, ID_QUESTION_1, 0 );
+            assertNotNull( loaded );
+            assertEquals( "a much longer new value", loaded.getNewValue( ) );
+            assertNull( _dao.selectByPrimaryKey( 4, ID_TASK, ID_QUESTION_2, 0 ) );
+        }
+        finally
+        {
+            _dao.deleteByIdHistoryAndTask( 4, ID_TASK );
+        }
+    }
+
+    public void testSelectSummaryDecodedLength( )
+    {
+        // The value is stored escaped, which makes it longer than the maximum, but its decoded length is within it
+        EditFormResponseTaskHistory history = newHistory( 6, ID_QUESTION_1 );
+        history.setPreviousValue( "{gz}not gzip" );
+        _dao.insert( history );
+
+        try
+        {
+            List<EditFormResponseTaskHistory> listResult = _dao.selectSummaryByIdHistoryAndIdTask( 6, ID_TASK, 12 );
+            assertEquals( 1, listResult.size( ) );
+            assertEquals( "{gz}not gzip", listResult.get( 0 ).getPreviousValue( ) );
+            assertEquals( 12, listResult.get( 0 ).getPreviousValueLength( ) );
+        }
+        finally
+        {
+            _dao.deleteByIdHistoryAndTask( 6, ID_TASK );
+        }
+    }
+
+    private EditFormResponseTaskHistory newHistory( int nIdHistory, int nIdQuestion )
+    {
+        Question question = new Question( );
+        question.setId( nIdQuestion );
+        question.setIterationNumber( 0 );
+
+        EditFormResponseTaskHistory history = new EditFormResponseTaskHistory( );
+        history.setIdHistory( nIdHistory );
+        history.setIdTask( ID_TASK );
+        history.setQuestion( question );
+        history.setPreviousValue( "previous " + nIdHistory );
+        history.setNewValue( "new " + nIdHistory );
+        return history;
+    }
+}
@@ -0,0 +1,105 @@
+/*
+ * Copyright (c) 2002-2021, City of Paris
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ *  1. Redistributions of source code must retain the above copyright notice
+ *     and the following disclaimer.
+ *
+ *  2. Redistributions in binary form must reproduce the above copyright notice
+ *     and the following disclaimer in the documentation and/or other materials
+ *     provided with the distribution.
+ *
+ *  3. Neither the name of 'Mairie de Paris' nor 'Lutece' nor the names of its
+ *     contributors may be used to endorse or promote products derived from
+ *     this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ *
+ * License 1.0
+ */
+package fr.paris.lutece.plugins.workflow.modules.forms.business;
+
+import fr.paris.lutece.test.LuteceTestCase;
+
+public class HistoryValueCodecTest extends LuteceTestCase
+{
+    public void testRoundTrip( )
+    {
+        assertNull( HistoryValueCodec.encode( null ) );
+        assertNull( HistoryValueCodec.decode( null ) );
+
+        for ( String strValue : new String [ ] {
+                "", "value", "{gz}not compressed", "{raw}not escaped"
+        } )
+        {
+            assertEquals( strValue, HistoryValueCodec.decode( HistoryValueCodec.encode( strValue ) ) );
+        }
+
+        StringBuilder sbLongValue = new StringBuilder( );
+        for ( int i = 0; i < 1000; i++ )
+        {
+            sbLongValue.append( "a long answer " );
+        }
+        assertEquals( sbLongValue.toString( ), HistoryValueCodec.decode( HistoryValueCodec.encode( sbLongValue.toString( ) ) ) );
+    }
+
+    public void testCompression( )
+    {
+        String strLongValue = getLongValue( );
+
+        String strEncoded = HistoryValueCodec.encode( strLongValue, true, 100 );
+        assertTrue( strEncoded.startsWith( "{gz}" ) );
+        assertTrue( strEncoded.length( ) < strLongValue.length( ) );
+        assertEquals( strLongValue, HistoryValueCodec.decode( strEncoded ) );
+
+        assertEquals( strLongValue, HistoryValueCodec.encode( strLongValue, false, 100 ) );
+    }
+
+    public void testCompressionThreshold( )
+    {
+        String strLongValue = getLongValue( );
+
+        assertEquals( strLongValue, HistoryValueCodec.encode( strLongValue, true, strLongValue.length( ) + 1 ) );
+        assertTrue( HistoryValueCodec.encode( strLongValue, true, strLongValue.length( ) ).startsWith( "{gz}" ) );
+    }
+
+    public void testEscaping( )
+    {
+        for ( boolean bCompressionEnabled : new boolean [ ] {
+                true, false
+        } )
+        {
+            String strEncoded = HistoryValueCodec.encode( "{gz}not compressed", bCompressionEnabled, 1 );
+            assertEquals( "{raw}{gz}not compressed", strEncoded );
+            assertEquals( "{gz}not compressed", HistoryValueCodec.decode( strEncoded ) );
+
+            strEncoded = HistoryValueCodec.encode( "{raw}not escaped", bCompressionEnabled, 1 );
+            assertEquals( "{raw}{raw}not escaped", strEncoded );
+            assertEquals( "{raw}not escaped", HistoryValueCodec.decode( strEncoded ) );
+        }
+    }
+
+    private String getLongValue( )
+    {
+        StringBuilder sbLongValue = new StringBuilder( );
+        for ( int i = 0; i < 1000; i++ )
+        {
+            sbLongValue.append( "a long answer " );
+        }
+        return sbLongValue.toString( );
+    }
+}
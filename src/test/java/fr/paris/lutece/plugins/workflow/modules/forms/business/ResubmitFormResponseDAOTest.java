@@ -0,0 +1,219 @@
+/*
+ * Copyright (c) 2002-2021, City of Paris
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ *  1. Redistributions of source code must retain the above copyright notice
+ *     and the following disclaimer.
+ *
+ *  2. Redistributions in binary form must reproduce the above copyright notice
+ *     and the following disclaimer in the documentation and/or other materials
+ *     provided with the distribution.
+ *
+ *  3. Neither the name of 'Mairie de Paris' nor 'Lutece' nor the names of its
+ *     contributors may be used to endorse or promote products derived from
+ *     this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ *
+ * License 1.0
+ */
+package fr.paris.lutece.plugins.workflow.modules.forms.business;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import fr.paris.lutece.plugins.workflow.utils.WorkflowUtils;
+import fr.paris.lutece.portal.service.util.AppLogService;
+import fr.paris.lutece.test.LuteceTestCase;
+
+public class ResubmitFormResponseDAOTest extends LuteceTestCase
+{
+    private static final int ID_TASK = 1;
+    private static final int NB_THREADS = 8;
+    private static final int ID_TASK_SCALING = 2;
+    private static final int DEFAULT_ROWS_PER_THREAD = 20;
+    private static final String PROPERTY_BENCHMARK_ROWS = "workflow-forms.benchmark.rows";
+
+    private ResubmitFormResponseDAO _dao = new ResubmitFormResponseDAO( );
+
+    public void testInsertExisting( )
+    {
+        ResubmitFormResponse response = newResponse( 21, "first" );
+        _dao.insert( response, WorkflowUtils.getPlugin( ) );
+
+        response.setMessage( "second" );
+        _dao.insert( response, WorkflowUtils.getPlugin( ) );
+
+        ResubmitFormResponse loaded = _dao.load( 21, ID_TASK, WorkflowUtils.getPlugin( ) );
+        assertNotNull( loaded );
+        assertEquals( "second", loaded.getMessage( ) );
+
+        _dao.deleteByIdHistory( 21, ID_TASK, WorkflowUtils.getPlugin( ) );
+        assertNull( _dao.load( 21, ID_TASK, WorkflowUtils.getPlugin( ) ) );
+    }
+
+    public void testLoadAndDeleteByIdHistoryList( )
+    {
+        for ( int nIdHistory = 1; nIdHistory <= 5; nIdHistory++ )
+        {
+            _dao.insert( newResponse( ID_TASK_SCALING, nIdHistory, "chunk" ), WorkflowUtils.getPlugin( ) );
+        }
+
+        try
+        {
+            // The ids are read by pages, after the last id of the previous page
+            assertEquals( Arrays.asList( 1, 2 ), _dao.loadIdHistoryByIdTask( ID_TASK_SCALING, -1, 2, WorkflowUtils.getPlugin( ) ) );
+            assertEquals( Arrays.asList( 3, 4 ), _dao.loadIdHistoryByIdTask( ID_TASK_SCALING, 2, 2, WorkflowUtils.getPlugin( ) ) );
+            assertEquals( Arrays.asList( 5 ), _dao.loadIdHistoryByIdTask( ID_TASK_SCALING, 4, 2, WorkflowUtils.getPlugin( ) ) );
+
+            _dao.deleteByIdHistoryList( ID_TASK_SCALING, Arrays.asList( 2, 4 ), WorkflowUtils.getPlugin( ) );
+            assertEquals( Arrays.asList( 1, 3, 5 ), _dao.loadIdHistoryByIdTask( ID_TASK_SCALING, -1, 10, WorkflowUtils.getPlugin( ) ) );
+        }
+        finally
+        {
+            _dao.deleteByIdTask( ID_TASK_SCALING, WorkflowUtils.getPlugin( ) );
+        }
+    }
+
+    public void testConcurrentInsert( ) throws Exception
+    {
+        ExecutorService executor = Executors.newFixedThreadPool( NB_THREADS );
+        try
+        {
+            List<Callable<Void>> listInserts = new ArrayList<>( );
+            for ( int i = 0; i < NB_THREADS; i++ )
+            {
+                // Every thread inserts the same record, and a record of its own
+                int nIdHistory = 30 + i;
+                listInserts.add( ( ) -> {
+                    _dao.insert( newResponse( 22, "shared" ), WorkflowUtils.getPlugin( ) );
+                    _dao.insert( newResponse( nIdHistory, "own" ), WorkflowUtils.getPlugin( ) );
+                    return null;
+                } );
+            }
+
+            for ( Future<Void> future : executor.invokeAll( listInserts ) )
+            {
+                future.get( );
+            }
+        }
+        finally
+        {
+            executor.shutdown( );
+        }
+
+        assertNotNull( _dao.load( 22, ID_TASK, WorkflowUtils.getPlugin( ) ) );
+        _dao.deleteByIdHistory( 22, ID_TASK, WorkflowUtils.getPlugin( ) );
+
+        for ( int i = 0; i < NB_THREADS; i++ )
+        {
+            assertNotNull( _dao.load( 30 + i, ID_TASK, WorkflowUtils.getPlugin( ) ) );
+            _dao.deleteByIdHistory( 30 + i, ID_TASK, WorkflowUtils.getPlugin( ) );
+        }
+    }
+
+    public void testInsertScaling( ) throws Exception
+    {
+        // Distinct records do not wait for each other: the throughput grows with the number of threads
+        Integer nRows = Integer.getInteger( PROPERTY_BENCHMARK_ROWS );
+        int nRowsPerThread = nRows != null ? nRows : DEFAULT_ROWS_PER_THREAD;
+
+        double dThroughputSingle = 0;
+        double dThroughputMax = 0;
+        for ( int nThreads = 1; nThreads <= NB_THREADS; nThreads *= 2 )
+        {
+            double dThroughput = insertDistinctRecords( nThreads, nRowsPerThread );
+            AppLogService.info( "Resubmit response insert with " + nThreads + " thread(s) : " + Math.round( dThroughput ) + " rows/s" );
+            if ( nThreads == 1 )
+            {
+                dThroughputSingle = dThroughput;
+            }
+            dThroughputMax = dThroughput;
+        }
+
+        if ( nRows != null )
+        {
+            // Timings are only meaningful on a real database with enough rows
+            assertTrue( "The inserts of distinct records do not scale with the threads", dThroughputMax > 2 * dThroughputSingle );
+        }
+    }
+
+    private double insertDistinctRecords( int nThreads, int nRowsPerThread ) throws Exception
+    {
+        ExecutorService executor = Executors.newFixedThreadPool( nThreads );
+        long lStart;
+        long lDuration;
+        try
+        {
+            List<Callable<Void>> listInserts = new ArrayList<>( );
+            for ( int i = 0; i < nThreads; i++ )
+            {
+                int nFirstIdHistory = i * nRowsPerThread;
+                listInserts.add( ( ) -> {
+                    for ( int j = 0; j < nRowsPerThread; j++ )
+                    {
+                        _dao.insert( newResponse( ID_TASK_SCALING, nFirstIdHistory + j, "scaling" ), WorkflowUtils.getPlugin( ) );
+                    }
+                    return null;
+                } );
+            }
+
+            lStart = System.nanoTime( );
+            for ( Future<Void> future : executor.invokeAll( listInserts ) )
+            {
+                future.get( );
+            }
+            lDuration = System.nanoTime( ) - lStart;
+        }
+        finally
+        {
+            executor.shutdown( );
+        }
+
+        try
+        {
+            assertEquals( nThreads * nRowsPerThread, _dao.loadByIdTask( ID_TASK_SCALING, WorkflowUtils.getPlugin( ) ).size( ) );
+        }
+        finally
+        {
+            _dao.deleteByIdTask( ID_TASK_SCALING, WorkflowUtils.getPlugin( ) );
+        }
+
+        return nThreads * nRowsPerThread * 1e9 / Math.max( lDuration, 1 );
+    }
+
+    private ResubmitFormResponse newResponse( int nIdHistory, String strMessage )
+    {
+        return newResponse( ID_TASK, nIdHistory, strMessage );
+    }
+
+    private ResubmitFormResponse newResponse( int nIdTask, int nIdHistory, String strMessage )
+    {
+        ResubmitFormResponse response = new ResubmitFormResponse( );
+        response.setIdHistory( nIdHistory );
+        response.setIdTask( nIdTask );
+        response.setMessage( strMessage );
+        response.setIsComplete( false );
+
+        return response;
+    }
+}
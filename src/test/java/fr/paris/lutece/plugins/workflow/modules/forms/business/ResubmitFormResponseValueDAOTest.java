@@ -33,6 +33,9 @@
  */
 package fr.paris.lutece.plugins.workflow.modules.forms.business;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 
 import fr.paris.lutece.plugins.workflow.utils.WorkflowUtils;
@@ -57,4 +60,60 @@ public class ResubmitFormResponseValueDAOTest extends LuteceTestCase
         loaded = _dao.load( 11, WorkflowUtils.getPlugin( ) );
         assertEquals( 0, loaded.size( ) );
     }
+
+    public void testInsertAll( )
+    {
+        List<ResubmitFormResponseValue> listValues = new ArrayList<>( );
+        for ( int nIdEntry = 20; nIdEntry < 25; nIdEntry++ )
+        {
+            ResubmitFormResponseValue value = new ResubmitFormResponseValue( );
+            value.setIdEntry( nIdEntry );
+            listValues.add( value );
+        }
+
+        _dao.insertAll( 12, listValues, WorkflowUtils.getPlugin( ) );
+        List<ResubmitFormResponseValue> loaded = _dao.load( 12, WorkflowUtils.getPlugin( ) );
+        assertEquals( listValues.size( ), loaded.size( ) );
+        for ( ResubmitFormResponseValue value : listValues )
+        {
+            assertEquals( 12, value.getIdHistory( ) );
+            assertTrue( loaded.stream( ).anyMatch( v -> v.getIdEntry( ) == value.getIdEntry( ) ) );
+        }
+
+        _dao.insertAll( 12, new ArrayList<>( ), WorkflowUtils.getPlugin( ) );
+        assertEquals( listValues.size( ), _dao.load( 12, WorkflowUtils.getPlugin( ) ).size( ) );
+
+        _dao.delete( 12, WorkflowUtils.getPlugin( ) );
+        loaded = _dao.load( 12, WorkflowUtils.getPlugin( ) );
+        assertEquals( 0, loaded.size( ) );
+    }
+
+    public void testDeleteByIdHistoryList( )
+    {
+        for ( int nIdHistory = 13; nIdHistory <= 15; nIdHistory++ )
+        {
+            ResubmitFormResponseValue value = new ResubmitFormResponseValue( );
+            value.setIdEntry( 10 );
+            _dao.insertAll( nIdHistory, Collections.singletonList( value ), WorkflowUtils.getPlugin( ) );
+        }
+
+        try
+        {
+            _dao.deleteByIdHistoryList( Arrays.asList( 13, 15 ), WorkflowUtils.getPlugin( ) );
+
+            assertEquals( 0, _dao.load( 13, WorkflowUtils.getPlugin( ) ).size( ) );
+            assertEquals( 1, _dao.load( 14, WorkflowUtils.getPlugin( ) ).size( ) );
+            assertEquals( 0, _dao.load( 15, WorkflowUtils.getPlugin( ) ).size( ) );
+
+            _dao.deleteByIdHistoryList( new ArrayList<>( ), WorkflowUtils.getPlugin( ) );
+            assertEquals( 1, _dao.load( 14, WorkflowUtils.getPlugin( ) ).size( ) );
+        }
+        finally
+        {
+            for ( int nIdHistory = 13; nIdHistory <= 15; nIdHistory++ )
+            {
+                _dao.delete( nIdHistory, WorkflowUtils.getPlugin( ) );
+            }
+        }
+    }
 }
@@ -0,0 +1,94 @@
+/*
+ * Copyright (c) 2002-2021, City of Paris
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ *  1. Redistributions of source code must retain the above copyright notice
+ *     and the following disclaimer.
+ *
+ *  2. Redistributions in binary form must reproduce the above copyright notice
+ *     and the following disclaimer in the documentation and/or other materials
+ *     provided with the distribution.
+ *
+ *  3. Neither the name of 'Mairie de Paris' nor 'Lutece' nor the names of its
+ *     contributors may be used to endorse or promote products derived from
+ *     this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ *
+ * License 1.0
+ */
+package fr.paris.lutece.plugins.workflow.modules.forms.service;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import fr.paris.lutece.plugins.forms.business.Question;
+import fr.paris.lutece.plugins.genericattributes.business.Entry;
+import fr.paris.lutece.plugins.genericattributes.business.Field;
+import fr.paris.lutece.test.LuteceTestCase;
+
+public class FormQuestionsSnapshotTest extends LuteceTestCase
+{
+    private static final int ID_FORM = 1;
+    private static final int ID_QUESTION = 2;
+    private static final int ID_ENTRY = 3;
+
+    public void testQuestionsAreCopied( )
+    {
+        FormQuestionsSnapshot snapshot = new FormQuestionsSnapshot( ID_FORM, Collections.singletonList( newQuestion( ) ) );
+
+        // Modify everything a caller can reach from the questions handed out
+        Question question = snapshot.getQuestionsUsedInCompleteFormResponse( ).get( 0 );
+        question.setIterationNumber( 5 );
+        question.getEntry( ).setTitle( "modified" );
+        question.getEntry( ).getFields( ).get( 0 ).setValue( "modified" );
+        snapshot.getQuestion( ID_QUESTION ).getEntry( ).getFields( ).clear( );
+        snapshot.getQuestionByEntry( ID_ENTRY ).setTitle( "modified" );
+
+        Question questionSnapshot = snapshot.getQuestion( ID_QUESTION );
+        assertNotSame( question, questionSnapshot );
+        assertEquals( 0, questionSnapshot.getIterationNumber( ) );
+        assertEquals( "title", questionSnapshot.getTitle( ) );
+        assertEquals( "entry", questionSnapshot.getEntry( ).getTitle( ) );
+        assertEquals( 1, questionSnapshot.getEntry( ).getFields( ).size( ) );
+        assertEquals( "field", questionSnapshot.getEntry( ).getFields( ).get( 0 ).getValue( ) );
+    }
+
+    private Question newQuestion( )
+    {
+        Field field = new Field( );
+        field.setValue( "field" );
+
+        List<Field> listFields = new ArrayList<>( );
+        listFields.add( field );
+
+        Entry entry = new Entry( );
+        entry.setIdEntry( ID_ENTRY );
+        entry.setTitle( "entry" );
+        entry.setUsedInCompleteFormResponse( true );
+        entry.setFields( listFields );
+
+        Question question = new Question( );
+        question.setId( ID_QUESTION );
+        question.setTitle( "title" );
+        question.setIdEntry( ID_ENTRY );
+        question.setEntry( entry );
+
+        return question;
+    }
+}
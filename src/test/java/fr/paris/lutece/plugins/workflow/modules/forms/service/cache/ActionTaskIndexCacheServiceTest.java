@@ -0,0 +1,80 @@
+/*
+ * Copyright (c) 2002-2021, City of Paris
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ *  1. Redistributions of source code must retain the above copyright notice
+ *     and the following disclaimer.
+ *
+ *  2. Redistributions in binary form must reproduce the above copyright notice
+ *     and the following disclaimer in the documentation and/or other materials
+ *     provided with the distribution.
+ *
+ *  3. Neither the name of 'Mairie de Paris' nor 'Lutece' nor the names of its
+ *     contributors may be used to endorse or promote products derived from
+ *     this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ *
+ * License 1.0
+ */
+package fr.paris.lutece.plugins.workflow.modules.forms.service.cache;
+
+import java.util.Collections;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import fr.paris.lutece.test.LuteceTestCase;
+
+public class ActionTaskIndexCacheServiceTest extends LuteceTestCase
+{
+    private static final int ID_ACTION = 999;
+    private static final String TASK_TYPE_KEY = "taskTypeKey";
+
+    private final AtomicInteger _nLoadCount = new AtomicInteger( );
+
+    public void testRemoveAllClearsCache( )
+    {
+        ActionTaskIndexCacheService.getInstance( ).removeAll( );
+        getIdTasks( 0 );
+        getIdTasks( 0 );
+        assertEquals( 1, _nLoadCount.get( ) );
+
+        // A task of the module is configured or removed
+        ActionTaskIndexCacheService.getInstance( ).removeAll( );
+        getIdTasks( 0 );
+        assertEquals( 2, _nLoadCount.get( ) );
+    }
+
+    public void testExpiredIndexIsReloaded( ) throws InterruptedException
+    {
+        ActionTaskIndexCacheService.getInstance( ).removeAll( );
+        getIdTasks( 60000 );
+        getIdTasks( 60000 );
+        assertEquals( 1, _nLoadCount.get( ) );
+
+        Thread.sleep( 10 );
+        getIdTasks( 5 );
+        assertEquals( 2, _nLoadCount.get( ) );
+    }
+
+    private void getIdTasks( long lTimeToLive )
+    {
+        ActionTaskIndexCacheService.getInstance( ).getIdTasks( ID_ACTION, TASK_TYPE_KEY, nIdAction -> {
+            _nLoadCount.incrementAndGet( );
+            return Collections.emptyList( );
+        }, lTimeToLive );
+    }
+}
@@ -0,0 +1,72 @@
+/*
+ * Copyright (c) 2002-2021, City of Paris
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ *  1. Redistributions of source code must retain the above copyright notice
+ *     and the following disclaimer.
+ *
+ *  2. Redistributions in binary form must reproduce the above copyright notice
+ *     and the following disclaimer in the documentation and/or other materials
+ *     provided with the distribution.
+ *
+ *  3. Neither the name of 'Mairie de Paris' nor 'Lutece' nor the names of its
+ *     contributors may be used to endorse or promote products derived from
+ *     this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ *
+ * License 1.0
+ */
+package fr.paris.lutece.plugins.workflow.modules.forms.service.task;
+
+import java.util.ArrayList;
+
+import fr.paris.lutece.plugins.forms.business.FormQuestionResponse;
+import fr.paris.lutece.plugins.genericattributes.business.Response;
+import fr.paris.lutece.portal.business.file.File;
+import fr.paris.lutece.test.LuteceTestCase;
+
+public class ResponseFingerprintTest extends LuteceTestCase
+{
+    public void testMissingFileDiffersFromFileWithoutId( )
+    {
+        FormQuestionResponse responseWithoutFile = newFormQuestionResponse( null );
+        FormQuestionResponse responseWithNewFile = newFormQuestionResponse( new File( ) );
+
+        assertFalse( ResponseFingerprint.of( responseWithoutFile ).equals( ResponseFingerprint.of( responseWithNewFile ) ) );
+    }
+
+    public void testHasFile( )
+    {
+        assertFalse( ResponseFingerprint.hasFile( newFormQuestionResponse( null ) ) );
+        assertTrue( ResponseFingerprint.hasFile( newFormQuestionResponse( new File( ) ) ) );
+        assertFalse( ResponseFingerprint.hasFile( new FormQuestionResponse( ) ) );
+    }
+
+    private FormQuestionResponse newFormQuestionResponse( File file )
+    {
+        Response response = new Response( );
+        response.setResponseValue( "value" );
+        response.setFile( file );
+
+        FormQuestionResponse formQuestionResponse = new FormQuestionResponse( );
+        formQuestionResponse.setEntryResponse( new ArrayList<>( ) );
+        formQuestionResponse.getEntryResponse( ).add( response );
+
+        return formQuestionResponse;
+    }
+}
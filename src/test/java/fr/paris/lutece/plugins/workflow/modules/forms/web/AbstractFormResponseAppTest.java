@@ -0,0 +1,216 @@
+/*
+ * Copyright (c) 2002-2021, City of Paris
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ *  1. Redistributions of source code must retain the above copyright notice
+ *     and the following disclaimer.
+ *
+ *  2. Redistributions in binary form must reproduce the above copyright notice
+ *     and the following disclaimer in the documentation and/or other materials
+ *     provided with the distribution.
+ *
+ *  3. Neither the name of 'Mairie de Paris' nor 'Lutece' nor the names of its
+ *     contributors may be used to endorse or promote products derived from
+ *     this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ *
+ * License 1.0
+ */
+package fr.paris.lutece.plugins.workflow.modules.forms.web;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Locale;
+
+import javax.servlet.http.HttpServletRequest;
+
+import fr.paris.lutece.plugins.forms.business.FormQuestionResponse;
+import fr.paris.lutece.plugins.forms.business.FormQuestionResponseHome;
+import fr.paris.lutece.plugins.forms.business.Question;
+import fr.paris.lutece.plugins.forms.service.FormsPlugin;
+import fr.paris.lutece.plugins.workflow.modules.forms.business.CompleteFormResponse;
+import fr.paris.lutece.plugins.workflow.modules.forms.business.CompleteFormResponseDAO;
+import fr.paris.lutece.plugins.workflow.utils.WorkflowUtils;
+import fr.paris.lutece.portal.service.plugin.Plugin;
+import fr.paris.lutece.portal.service.plugin.PluginDefaultImplementation;
+import fr.paris.lutece.portal.service.plugin.PluginService;
+import fr.paris.lutece.portal.service.util.AppException;
+import fr.paris.lutece.portal.web.xpages.XPage;
+import fr.paris.lutece.test.LuteceTestCase;
+import fr.paris.lutece.util.signrequest.AbstractPrivateKeyAuthenticator;
+import fr.paris.lutece.util.sql.TransactionManager;
+
+public class AbstractFormResponseAppTest extends LuteceTestCase
+{
+    private static final int ID_TASK = 998;
+    private static final int ID_HISTORY = 41;
+    private static final int ID_FORM_RESPONSE = 41;
+    private static final int ID_QUESTION = 1;
+
+    private CompleteFormResponseDAO _dao = new CompleteFormResponseDAO( );
+
+    public void testFailureRollsBackEveryWrite( ) throws Exception
+    {
+        EditingApp app = new EditingApp( true );
+
+        try
+        {
+            app.doEditResponseInTransaction( null, newResponse( ), ID_TASK, ID_HISTORY );
+            fail( "The edition should fail" );
+        }
+        catch( IllegalStateException e )
+        {
+            // The forced failure
+        }
+
+        // Neither the row of the module nor the row of the forms plugin is kept
+        assertNull( _dao.load( ID_HISTORY, ID_TASK, WorkflowUtils.getPlugin( ) ) );
+        assertNull( FormQuestionResponseHome.findByPrimaryKey( app._nIdFormQuestionResponse ) );
+        assertFalse( app._bAutomaticActionsRun );
+    }
+
+    public void testSuccessCommitsEveryWrite( ) throws Exception
+    {
+        EditingApp app = new EditingApp( false );
+
+        try
+        {
+            assertTrue( app.doEditResponseInTransaction( null, newResponse( ), ID_TASK, ID_HISTORY ) );
+
+            assertNotNull( _dao.load( ID_HISTORY, ID_TASK, WorkflowUtils.getPlugin( ) ) );
+            assertNotNull( FormQuestionResponseHome.findByPrimaryKey( app._nIdFormQuestionResponse ) );
+
+            // The automatic actions run once the transaction is committed
+            assertTrue( app._bAutomaticActionsRun );
+            assertFalse( app._bTransactionOpenDuringAutomaticActions );
+        }
+        finally
+        {
+            _dao.deleteByIdHistory( ID_HISTORY, ID_TASK, WorkflowUtils.getPlugin( ) );
+            FormQuestionResponseHome.remove( app._nIdFormQuestionResponse );
+        }
+    }
+
+    public void testPluginOnAnotherPoolFails( )
+    {
+        Plugin pluginWorkflow = WorkflowUtils.getPlugin( );
+        AbstractFormResponseApp.checkSharedPool( pluginWorkflow, Arrays.asList( PluginService.getPlugin( FormsPlugin.PLUGIN_NAME ) ) );
+
+        Plugin pluginOtherPool = new PluginDefaultImplementation( )
+        {
+            @Override
+            public String getDbPoolName( )
+            {
+                return pluginWorkflow.getDbPoolName( ) + "-other";
+            }
+        };
+
+        try
+        {
+            AbstractFormResponseApp.checkSharedPool( pluginWorkflow, Arrays.asList( pluginOtherPool ) );
+            fail( "A plugin on another pool should be rejected" );
+        }
+        catch( AppException e )
+        {
+            // Its writes could not be committed with the transaction of the workflow plugin
+        }
+    }
+
+    private CompleteFormResponse newResponse( )
+    {
+        CompleteFormResponse response = new CompleteFormResponse( );
+        response.setIdHistory( ID_HISTORY );
+        response.setIdTask( ID_TASK );
+        response.setMessage( "message" );
+        response.setIsComplete( true );
+
+        return response;
+    }
+
+    /**
+     * Application writing a row of the module and a row of the forms plugin, then failing if requested
+     */
+    private final class EditingApp extends AbstractFormResponseApp<CompleteFormResponse>
+    {
+        private static final long serialVersionUID = 1L;
+
+        private final boolean _bFail;
+        private int _nIdFormQuestionResponse;
+        private boolean _bAutomaticActionsRun;
+        private boolean _bTransactionOpenDuringAutomaticActions;
+
+        private EditingApp( boolean bFail )
+        {
+            _bFail = bFail;
+        }
+
+        @Override
+        protected boolean doEditResponse( HttpServletRequest request, CompleteFormResponse response, int idTask, int idHistory )
+        {
+            _dao.insert( response, WorkflowUtils.getPlugin( ) );
+
+            Question question = new Question( );
+            question.setId( ID_QUESTION );
+
+            FormQuestionResponse formQuestionResponse = new FormQuestionResponse( );
+            formQuestionResponse.setIdFormResponse( ID_FORM_RESPONSE );
+            formQuestionResponse.setQuestion( question );
+            formQuestionResponse.setEntryResponse( new ArrayList<>( ) );
+            FormQuestionResponseHome.create( formQuestionResponse );
+            _nIdFormQuestionResponse = formQuestionResponse.getId( );
+
+            if ( _bFail )
+            {
+                throw new IllegalStateException( "Forced failure" );
+            }
+
+            return true;
+        }
+
+        @Override
+        protected void doProcessAutomaticActions( HttpServletRequest request, CompleteFormResponse response )
+        {
+            _bAutomaticActionsRun = true;
+            _bTransactionOpenDuringAutomaticActions = TransactionManager.getCurrentTransaction( WorkflowUtils.getPlugin( ) ) != null;
+        }
+
+        @Override
+        protected AbstractPrivateKeyAuthenticator getRequestAuthenticator( )
+        {
+            return null;
+        }
+
+        @Override
+        protected boolean isRecordStateValid( CompleteFormResponse resubmitFormResponse, Locale locale )
+        {
+            return true;
+        }
+
+        @Override
+        protected XPage getFormResponseXPage( HttpServletRequest request, CompleteFormResponse completeFormResponse )
+        {
+            return null;
+        }
+
+        @Override
+        protected CompleteFormResponse findAbstractCompleteFormResponse( int nIdHistory, int nIdTask )
+        {
+            return null;
+        }
+    }
+}
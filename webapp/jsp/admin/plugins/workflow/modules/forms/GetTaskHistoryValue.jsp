@@ -0,0 +1,3 @@
+<%@ page errorPage="../../../../ErrorPage.jsp" contentType="text/plain; charset=UTF-8" trimDirectiveWhitespaces="true" %>
+<jsp:useBean id="workflowFormsTaskHistoryValue" scope="request" class="fr.paris.lutece.plugins.workflow.modules.forms.web.TaskHistoryValueJspBean" />
+<%= workflowFormsTaskHistoryValue.getTaskHistoryValue( request ) %>